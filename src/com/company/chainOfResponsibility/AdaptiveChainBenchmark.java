@@ -0,0 +1,109 @@
+package com.company.chainOfResponsibility;
+
+import java.util.Random;
+
+// Skewed traffic through a fixed-order chain vs AdaptiveSupportChain.
+// Most requests are handled by handlers near the end of the chain, and some handlers are
+// more expensive to ask than others. Also routes one request through a very long chain
+// to show that delegation no longer recurses.
+// Arguments: handlers (default 200), requests (default 1000000), long chain length (default 1000000).
+public class AdaptiveChainBenchmark {
+    public static void main(String[] args) {
+        int handlerCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int requestCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int longChain = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+
+        SupportHandler[] handlers = new SupportHandler[handlerCount];
+        for (int i = 0; i < handlerCount; i++) {
+            // Every fourth handler checks many keywords and is about five times as expensive
+            String[] keywords = new String[i % 4 == 0 ? 5 : 1];
+            for (int k = 0; k < keywords.length; k++) {
+                keywords[k] = "topic" + i + (k == 0 ? "" : "/alias" + k) + ";";
+            }
+            handlers[i] = new CountingHandler(keywords);
+            if (i > 0) {
+                handlers[i - 1].setNextHandler(handlers[i]);
+            }
+        }
+
+        // 80% of the traffic goes to the last 5% of the chain
+        Random random = new Random(23);
+        String[] requests = new String[requestCount];
+        int hot = Math.max(1, handlerCount / 20);
+        for (int r = 0; r < requestCount; r++) {
+            int target = random.nextInt(10) < 8
+                    ? handlerCount - 1 - random.nextInt(hot)
+                    : random.nextInt(handlerCount);
+            requests[r] = "customer question about topic" + target + "; please help";
+        }
+
+        AdaptiveSupportChain adaptive = new AdaptiveSupportChain(handlers[0], 10_000);
+        // The first two handlers may both accept some requests; keep their order
+        if (handlerCount > 1) {
+            adaptive.requireBefore(handlers[0], handlers[1]);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            long fixedChecksum = 0;
+            for (String request : requests) {
+                fixedChecksum += System.identityHashCode(routeFixed(handlers[0], request));
+            }
+            long fixedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long adaptiveChecksum = 0;
+            for (String request : requests) {
+                adaptiveChecksum += System.identityHashCode(adaptive.route(request));
+            }
+            long adaptiveNanos = System.nanoTime() - start;
+
+            if (fixedChecksum != adaptiveChecksum) {
+                throw new IllegalStateException("Fixed and adaptive chains routed requests differently");
+            }
+            if (round == 2) {
+                System.out.println(handlerCount + " handlers: fixed order " + fixedNanos / requestCount
+                        + " ns/request, adaptive " + adaptiveNanos / requestCount + " ns/request ("
+                        + adaptive.getReorders() + " reorders, estimated "
+                        + String.format("%.0f", adaptive.getExpectedCostNanos()) + " ns of canHandle per request)");
+                System.out.println("Handler order kept by constraint: "
+                        + (adaptive.getOrder().indexOf(handlers[0]) < adaptive.getOrder().indexOf(handlers[1])));
+            }
+        }
+
+        SupportHandler head = new CountingHandler("never0");
+        SupportHandler tail = head;
+        for (int i = 1; i < longChain; i++) {
+            SupportHandler handler = new CountingHandler("never" + i);
+            tail.setNextHandler(handler);
+            tail = handler;
+        }
+        long start = System.nanoTime();
+        head.handleRequest("a request nobody handles");
+        System.out.println("Chain of " + longChain + " handlers walked in " + (System.nanoTime() - start) / 1_000_000
+                + " ms without recursion");
+    }
+
+    // The fixed chain order, without processing or printing
+    private static SupportHandler routeFixed(SupportHandler head, String request) {
+        for (SupportHandler handler = head; handler != null; handler = handler.nextHandler) {
+            if (handler.canHandle(request)) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private static class CountingHandler extends KeywordSupportHandler {
+        long processed;
+
+        CountingHandler(String... keywords) {
+            super(keywords);
+        }
+
+        @Override
+        protected void processRequest(String request) {
+            processed++;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.company.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// A handler chain that reorders itself to reduce the expected cost of routing a request.
+// For every handler it counts how often canHandle is evaluated and matches, and samples how long
+// canHandle takes. Every reorderInterval requests the handlers are re-sorted by
+// cost / match probability (cheap, likely handlers first), which minimizes the expected number of
+// nanoseconds spent per request when the handlers are independent. Pairs that must keep their
+// relative order, because both may accept the same request, are declared with requireBefore
+// and always respected. Statistics are halved at each reorder so the order follows changing traffic.
+// Requests are routed by an iterative loop, so chain length is not limited by the stack.
+// Not thread-safe: use one instance per thread or synchronize externally.
+class AdaptiveSupportChain {
+    private static final int COST_SAMPLE_MASK = 15;
+
+    private final SupportHandler[] handlers;
+    private final Map<SupportHandler, Integer> indexes = new IdentityHashMap<>();
+    private final List<List<Integer>> successors = new ArrayList<>();
+    private final long reorderInterval;
+
+    private final long[] evaluations;
+    private final long[] matches;
+    private final long[] sampledNanos;
+    private final long[] samples;
+
+    private int[] order;
+    private long requests;
+    private long reorders;
+
+    AdaptiveSupportChain(SupportHandler head, long reorderInterval) {
+        if (reorderInterval < 1) {
+            throw new IllegalArgumentException("reorderInterval must be at least 1");
+        }
+        List<SupportHandler> chain = new ArrayList<>();
+        for (SupportHandler handler = head; handler != null; handler = handler.nextHandler) {
+            if (indexes.put(handler, chain.size()) != null) {
+                throw new IllegalArgumentException("Handler chain contains a cycle");
+            }
+            chain.add(handler);
+            successors.add(new ArrayList<>());
+        }
+        this.handlers = chain.toArray(new SupportHandler[0]);
+        this.reorderInterval = reorderInterval;
+        this.evaluations = new long[handlers.length];
+        this.matches = new long[handlers.length];
+        this.sampledNanos = new long[handlers.length];
+        this.samples = new long[handlers.length];
+        this.order = new int[handlers.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+    }
+
+    // first is always asked before second; rejects constraints that would form a cycle
+    void requireBefore(SupportHandler first, SupportHandler second) {
+        int from = indexOf(first);
+        int to = indexOf(second);
+        successors.get(from).add(to);
+        try {
+            reorder();
+        } catch (IllegalArgumentException e) {
+            successors.get(from).remove(successors.get(from).size() - 1);
+            throw e;
+        }
+    }
+
+    void handleRequest(String request) {
+        SupportHandler handler = route(request);
+        if (handler != null) {
+            handler.processRequest(request);
+        } else {
+            System.out.println("Request could not be handled");
+        }
+    }
+
+    // The first handler in the current order that accepts the request, or null
+    SupportHandler route(String request) {
+        boolean sampleCost = (requests & COST_SAMPLE_MASK) == 0;
+        SupportHandler result = null;
+        for (int index : order) {
+            evaluations[index]++;
+            boolean accepted;
+            if (sampleCost) {
+                long start = System.nanoTime();
+                accepted = handlers[index].canHandle(request);
+                sampledNanos[index] += System.nanoTime() - start;
+                samples[index]++;
+            } else {
+                accepted = handlers[index].canHandle(request);
+            }
+            if (accepted) {
+                matches[index]++;
+                result = handlers[index];
+                break;
+            }
+        }
+        if (++requests % reorderInterval == 0) {
+            reorder();
+            decay();
+        }
+        return result;
+    }
+
+    List<SupportHandler> getOrder() {
+        List<SupportHandler> current = new ArrayList<>(order.length);
+        for (int index : order) {
+            current.add(handlers[index]);
+        }
+        return current;
+    }
+
+    long getReorders() {
+        return reorders;
+    }
+
+    // Estimated canHandle nanoseconds per request for the current order, from the collected statistics
+    double getExpectedCostNanos() {
+        double fallback = averageCost();
+        double reach = 1;
+        double cost = 0;
+        for (int index : order) {
+            cost += reach * cost(index, fallback);
+            reach *= 1 - matchProbability(index);
+        }
+        return cost;
+    }
+
+    // Greedy topological order: among handlers whose required predecessors are placed, take the
+    // one with the lowest cost / match probability; ties keep the original chain order
+    private void reorder() {
+        int[] pending = new int[handlers.length];
+        for (List<Integer> next : successors) {
+            for (int to : next) {
+                pending[to]++;
+            }
+        }
+        double fallback = averageCost();
+        double[] rank = new double[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            rank[i] = cost(i, fallback) / matchProbability(i);
+        }
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> {
+            int byRank = Double.compare(rank[a], rank[b]);
+            return byRank != 0 ? byRank : Integer.compare(a, b);
+        });
+        for (int i = 0; i < handlers.length; i++) {
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+        int[] next = new int[handlers.length];
+        int placed = 0;
+        while (!ready.isEmpty()) {
+            int index = ready.poll();
+            next[placed++] = index;
+            for (int to : successors.get(index)) {
+                if (--pending[to] == 0) {
+                    ready.add(to);
+                }
+            }
+        }
+        if (placed != handlers.length) {
+            throw new IllegalArgumentException("Ordering constraints form a cycle");
+        }
+        if (!Arrays.equals(order, next)) {
+            order = next;
+            reorders++;
+        }
+    }
+
+    private void decay() {
+        for (int i = 0; i < handlers.length; i++) {
+            evaluations[i] >>= 1;
+            matches[i] >>= 1;
+            sampledNanos[i] >>= 1;
+            samples[i] >>= 1;
+        }
+    }
+
+    // Laplace-smoothed, so handlers without data are neither ignored nor preferred
+    private double matchProbability(int index) {
+        return (matches[index] + 1.0) / (evaluations[index] + 2.0);
+    }
+
+    // Handlers without cost samples yet are assumed to cost as much as the average sampled handler
+    private double cost(int index, double fallback) {
+        return samples[index] == 0 ? fallback : Math.max(1.0, (double) sampledNanos[index] / samples[index]);
+    }
+
+    private double averageCost() {
+        long nanos = 0;
+        long count = 0;
+        for (int i = 0; i < handlers.length; i++) {
+            nanos += sampledNanos[i];
+            count += samples[i];
+        }
+        return count == 0 ? 1 : Math.max(1.0, (double) nanos / count);
+    }
+
+    private int indexOf(SupportHandler handler) {
+        Integer index = indexes.get(handler);
+        if (index == null) {
+            throw new IllegalArgumentException("Handler is not part of this chain");
+        }
+        return index;
+    }
+}
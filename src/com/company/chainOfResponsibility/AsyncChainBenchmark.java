@@ -0,0 +1,85 @@
+package com.company.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+// Tickets with a slow manager stage: synchronous handleRequest on the caller thread vs AsyncSupportChain.
+// Handlers simulate work by sleeping (basic 0.2 ms, supervisor 1 ms, manager 20 ms).
+// Arguments: tickets (default 2000), queue capacity (default 64).
+public class AsyncChainBenchmark {
+    public static void main(String[] args) throws Exception {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int queueCapacity = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        Random random = new Random(17);
+        String[] requests = new String[tickets];
+        for (int i = 0; i < tickets; i++) {
+            int kind = random.nextInt(10);
+            requests[i] = "ticket " + i + (kind < 7 ? " basic" : kind < 9 ? " supervisor" : " manager") + " question";
+        }
+
+        SupportHandler head = chain();
+        long start = System.nanoTime();
+        int syncSample = Math.min(tickets, 200);
+        for (int i = 0; i < syncSample; i++) {
+            head.handleRequest(requests[i]);
+        }
+        long syncNanosPerTicket = (System.nanoTime() - start) / syncSample;
+        System.out.println("Synchronous chain: " + syncNanosPerTicket / 1_000 + " us per ticket on the caller thread"
+                + " (" + syncSample + " tickets)");
+
+        try (AsyncSupportChain async = new AsyncSupportChain(chain(), queueCapacity, new int[]{2, 4, 16})) {
+            List<CompletableFuture<SupportHandler>> results = new ArrayList<>(tickets);
+            long maxSubmitNanos = 0;
+            start = System.nanoTime();
+            for (String request : requests) {
+                long submitStart = System.nanoTime();
+                results.add(async.submit(request));
+                maxSubmitNanos = Math.max(maxSubmitNanos, System.nanoTime() - submitStart);
+            }
+            long intakeNanos = System.nanoTime() - start;
+            System.out.println("Mid-run stage metrics:");
+            for (AsyncSupportChain.StageMetrics metrics : async.getMetrics()) {
+                System.out.println("  " + metrics);
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).join();
+            long totalNanos = System.nanoTime() - start;
+            System.out.println("Async chain: intake " + intakeNanos / tickets / 1_000 + " us per ticket (longest"
+                    + " blocked submit " + maxSubmitNanos / 1_000_000 + " ms), all done after "
+                    + totalNanos / 1_000_000 + " ms = " + totalNanos / tickets / 1_000 + " us per ticket");
+            System.out.println("Final stage metrics:");
+            for (AsyncSupportChain.StageMetrics metrics : async.getMetrics()) {
+                System.out.println("  " + metrics);
+            }
+        }
+    }
+
+    private static SupportHandler chain() {
+        SupportHandler basic = new SleepingHandler("basic", 200_000);
+        SupportHandler supervisor = new SleepingHandler("supervisor", 1_000_000);
+        SupportHandler manager = new SleepingHandler("manager", 20_000_000);
+        basic.setNextHandler(supervisor);
+        supervisor.setNextHandler(manager);
+        return basic;
+    }
+
+    private static class SleepingHandler extends KeywordSupportHandler {
+        private final long workNanos;
+
+        SleepingHandler(String keyword, long workNanos) {
+            super(keyword);
+            this.workNanos = workNanos;
+        }
+
+        @Override
+        protected void processRequest(String request) {
+            try {
+                Thread.sleep(workNanos / 1_000_000, (int) (workNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.company.chainOfResponsibility;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Runs a handler chain asynchronously: every handler becomes a stage with its own bounded queue
+// and worker threads. A worker takes a ticket, processes it if its handler canHandle it, and
+// otherwise puts it on the next stage's queue. Full queues block whoever puts into them, so a slow
+// stage slows down the stages before it and finally the submitters, instead of buffering without
+// limit. Tickets only move forward, so blocking puts cannot deadlock.
+class AsyncSupportChain implements AutoCloseable {
+    private static final Ticket STOP = new Ticket(null, null);
+
+    private final List<Stage> stages = new ArrayList<>();
+    // Submitters check `closed` and enqueue under the read lock; close sets it under the write
+    // lock, so no ticket can be queued behind the stop markers
+    private final ReadWriteLock intake = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    AsyncSupportChain(SupportHandler head, int queueCapacity, int workersPerStage) {
+        this(head, queueCapacity, new int[]{workersPerStage});
+    }
+
+    // workersPerStage[i] workers for the i-th handler; the last value is reused for the remaining stages
+    AsyncSupportChain(SupportHandler head, int queueCapacity, int[] workersPerStage) {
+        if (queueCapacity < 1 || workersPerStage.length == 0) {
+            throw new IllegalArgumentException("queueCapacity and workersPerStage must be positive");
+        }
+        Map<SupportHandler, Boolean> seen = new IdentityHashMap<>();
+        for (SupportHandler handler = head; handler != null; handler = handler.nextHandler) {
+            if (seen.put(handler, Boolean.TRUE) != null) {
+                throw new IllegalArgumentException("Handler chain contains a cycle");
+            }
+            int workers = workersPerStage[Math.min(stages.size(), workersPerStage.length - 1)];
+            if (workers < 1) {
+                throw new IllegalArgumentException("Every stage needs at least one worker");
+            }
+            stages.add(new Stage(stages.size(), handler, queueCapacity, workers));
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("The chain has no handlers");
+        }
+        for (Stage stage : stages) {
+            stage.start();
+        }
+    }
+
+    // Blocks while the first stage's queue is full. The future completes with the handler that
+    // processed the request, with null if no handler could, or exceptionally if processing failed.
+    CompletableFuture<SupportHandler> submit(String request) throws InterruptedException {
+        intake.readLock().lockInterruptibly();
+        try {
+            Ticket ticket = newTicket(request);
+            stages.get(0).queue.put(ticket.arrive());
+            return ticket.result;
+        } finally {
+            intake.readLock().unlock();
+        }
+    }
+
+    // Like submit, but gives up after the timeout and returns null if the first queue stayed full
+    CompletableFuture<SupportHandler> offer(String request, long timeout, TimeUnit unit) throws InterruptedException {
+        intake.readLock().lockInterruptibly();
+        try {
+            Ticket ticket = newTicket(request);
+            return stages.get(0).queue.offer(ticket.arrive(), timeout, unit) ? ticket.result : null;
+        } finally {
+            intake.readLock().unlock();
+        }
+    }
+
+    List<StageMetrics> getMetrics() {
+        List<StageMetrics> metrics = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            metrics.add(stage.metrics());
+        }
+        return metrics;
+    }
+
+    // Stops accepting requests, lets every queued ticket finish, then stops the workers stage by stage.
+    // Waits for the workers even if interrupted, and restores the interrupt flag afterwards.
+    @Override
+    public void close() {
+        intake.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            intake.writeLock().unlock();
+        }
+        boolean interrupted = false;
+        for (Stage stage : stages) {
+            for (int i = 0; i < stage.workers.size(); i++) {
+                while (true) {
+                    try {
+                        stage.queue.put(STOP);
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            for (Thread worker : stage.workers) {
+                while (worker.isAlive()) {
+                    try {
+                        worker.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Ticket newTicket(String request) {
+        if (closed) {
+            throw new IllegalStateException("Chain is closed");
+        }
+        return new Ticket(request, new CompletableFuture<>());
+    }
+
+    private static class Ticket {
+        final String request;
+        final CompletableFuture<SupportHandler> result;
+        long enqueuedAt;
+
+        Ticket(String request, CompletableFuture<SupportHandler> result) {
+            this.request = request;
+            this.result = result;
+        }
+
+        Ticket arrive() {
+            enqueuedAt = System.nanoTime();
+            return this;
+        }
+    }
+
+    // Counters of one stage at the time getMetrics was called
+    static class StageMetrics {
+        private final String handler;
+        private final int queueDepth;
+        private final long handled;
+        private final long forwarded;
+        private final long failed;
+        private final long unhandled;
+        private final long averageWaitNanos;
+        private final long maxWaitNanos;
+        private final long averageServiceNanos;
+
+        StageMetrics(String handler, int queueDepth, long handled, long forwarded, long failed, long unhandled,
+                     long averageWaitNanos, long maxWaitNanos, long averageServiceNanos) {
+            this.handler = handler;
+            this.queueDepth = queueDepth;
+            this.handled = handled;
+            this.forwarded = forwarded;
+            this.failed = failed;
+            this.unhandled = unhandled;
+            this.averageWaitNanos = averageWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.averageServiceNanos = averageServiceNanos;
+        }
+
+        String getHandler() {
+            return handler;
+        }
+
+        int getQueueDepth() {
+            return queueDepth;
+        }
+
+        long getHandled() {
+            return handled;
+        }
+
+        long getForwarded() {
+            return forwarded;
+        }
+
+        long getFailed() {
+            return failed;
+        }
+
+        // Only the last stage can leave requests unhandled
+        long getUnhandled() {
+            return unhandled;
+        }
+
+        // Time tickets spent in this stage's queue
+        long getAverageWaitNanos() {
+            return averageWaitNanos;
+        }
+
+        long getMaxWaitNanos() {
+            return maxWaitNanos;
+        }
+
+        // canHandle plus processRequest; for forwarded tickets only canHandle
+        long getAverageServiceNanos() {
+            return averageServiceNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-18s depth %4d  handled %6d  forwarded %6d  failed %d  unhandled %d"
+                            + "  wait avg %9.1f us max %9.1f us  service avg %7.1f us", handler, queueDepth, handled,
+                    forwarded, failed, unhandled, averageWaitNanos / 1e3, maxWaitNanos / 1e3,
+                    averageServiceNanos / 1e3);
+        }
+    }
+
+    private class Stage {
+        final int index;
+        final SupportHandler handler;
+        final BlockingQueue<Ticket> queue;
+        final List<Thread> workers = new ArrayList<>();
+
+        final LongAdder handled = new LongAdder();
+        final LongAdder forwarded = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder unhandled = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final LongAdder serviceNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Stage(int index, SupportHandler handler, int queueCapacity, int workerCount) {
+            this.index = index;
+            this.handler = handler;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            for (int i = 0; i < workerCount; i++) {
+                Thread worker = new Thread(this::work, "support-" + index + "-" + handler.getClass().getSimpleName()
+                        + "-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+            }
+        }
+
+        void start() {
+            for (Thread worker : workers) {
+                worker.start();
+            }
+        }
+
+        // Runs until the worker takes a STOP, even if interrupted: close() puts exactly one STOP per
+        // worker and waits for all of them, so a worker must not exit early. An interrupt is
+        // remembered and restored on the way out.
+        private void work() {
+            boolean interrupted = false;
+            while (true) {
+                Ticket ticket;
+                try {
+                    ticket = queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    continue;
+                }
+                if (ticket == STOP) {
+                    break;
+                }
+                long start = System.nanoTime();
+                long wait = start - ticket.enqueuedAt;
+                waitNanos.add(wait);
+                maxWaitNanos.accumulateAndGet(wait, Math::max);
+                interrupted |= serve(ticket, start);
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Counters are updated before the ticket is completed or passed on, so they already
+        // include a ticket by the time its future completes. Any failure, including an Error,
+        // completes the ticket's future instead of killing the worker and leaving it pending.
+        // Returns whether the worker was interrupted while forwarding the ticket.
+        private boolean serve(Ticket ticket, long start) {
+            boolean interrupted = false;
+            try {
+                if (handler.canHandle(ticket.request)) {
+                    handler.processRequest(ticket.request);
+                    record(handled, start);
+                    ticket.result.complete(handler);
+                } else if (index + 1 < stages.size()) {
+                    record(forwarded, start);
+                    BlockingQueue<Ticket> next = stages.get(index + 1).queue;
+                    ticket.arrive();
+                    while (true) {
+                        try {
+                            next.put(ticket);
+                            break;
+                        } catch (InterruptedException e) {
+                            interrupted = true; // the ticket still has to reach the next stage
+                        }
+                    }
+                } else {
+                    System.out.println("Request could not be handled");
+                    record(unhandled, start);
+                    ticket.result.complete(null);
+                }
+            } catch (Throwable e) {
+                record(failed, start);
+                ticket.result.completeExceptionally(e);
+            }
+            return interrupted;
+        }
+
+        private void record(LongAdder outcome, long start) {
+            serviceNanos.add(System.nanoTime() - start);
+            outcome.increment();
+        }
+
+        StageMetrics metrics() {
+            long handled = this.handled.sum();
+            long forwarded = this.forwarded.sum();
+            long failed = this.failed.sum();
+            long unhandled = this.unhandled.sum();
+            long count = Math.max(1, handled + forwarded + failed + unhandled);
+            return new StageMetrics(index + ":" + handler.getClass().getSimpleName(), queue.size(), handled, forwarded, failed,
+                    unhandled, waitNanos.sum() / count, maxWaitNanos.get(), serviceNanos.sum() / count);
+        }
+    }
+}
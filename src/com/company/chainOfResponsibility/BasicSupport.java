@@ -1,9 +1,8 @@
 package com.company.chainOfResponsibility;
 
-class BasicSupport extends SupportHandler {
-    @Override
-    protected boolean canHandle(String request) {
-        return request.contains("basic");
+class BasicSupport extends KeywordSupportHandler {
+    BasicSupport() {
+        super("basic");
     }
 
     @Override
@@ -0,0 +1,99 @@
+package com.company.chainOfResponsibility;
+
+import java.util.Random;
+
+// Routing requests through a linear handler chain (one contains() scan per handler)
+// vs CompiledSupportChain (one automaton scan), for 10, 100 and 1000 handlers.
+// Argument: requests per measurement (default 200000).
+public class ChainRoutingBenchmark {
+    private static final String[] FILLER = {"my", "printer", "is", "not", "working", "please", "help", "with",
+            "the", "account", "login", "since", "yesterday", "order", "refund", "thanks"};
+
+    public static void main(String[] args) {
+        int requestCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        for (int handlerCount : new int[]{10, 100, 1_000}) {
+            Random random = new Random(handlerCount);
+            SupportHandler head = null;
+            SupportHandler tail = null;
+            for (int i = 0; i < handlerCount; i++) {
+                SupportHandler handler = new RuleHandler("queue-" + i + ":", "ticket#" + i + "!");
+                if (head == null) {
+                    head = handler;
+                } else {
+                    tail.setNextHandler(handler);
+                }
+                tail = handler;
+            }
+
+            // About 20 words each; 90% mention one handler's keyword somewhere
+            String[] requests = new String[requestCount];
+            StringBuilder request = new StringBuilder();
+            for (int r = 0; r < requestCount; r++) {
+                request.setLength(0);
+                int keywordAt = random.nextInt(10) == 0 ? -1 : random.nextInt(20);
+                for (int w = 0; w < 20; w++) {
+                    if (w == keywordAt) {
+                        request.append(random.nextBoolean() ? "queue-" : "ticket#")
+                                .append(random.nextInt(handlerCount)).append(random.nextBoolean() ? ":" : "!");
+                    } else {
+                        request.append(FILLER[random.nextInt(FILLER.length)]);
+                    }
+                    request.append(' ');
+                }
+                requests[r] = request.toString();
+            }
+
+            long start = System.nanoTime();
+            CompiledSupportChain compiled = new CompiledSupportChain(head);
+            long compileMicros = (System.nanoTime() - start) / 1_000;
+
+            long linearNanos = 0;
+            long compiledNanos = 0;
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                long linearChecksum = 0;
+                for (String r : requests) {
+                    linearChecksum += id(routeLinear(head, r));
+                }
+                linearNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                long compiledChecksum = 0;
+                for (String r : requests) {
+                    compiledChecksum += id(compiled.route(r));
+                }
+                compiledNanos = System.nanoTime() - start;
+
+                if (linearChecksum != compiledChecksum) {
+                    throw new IllegalStateException("Linear and compiled routing disagree");
+                }
+            }
+            System.out.println(handlerCount + " handlers: linear " + linearNanos / requestCount + " ns/request, compiled "
+                    + compiledNanos / requestCount + " ns/request (compiled in " + compileMicros + " us)");
+        }
+    }
+
+    // What handleRequest does, minus processing
+    private static SupportHandler routeLinear(SupportHandler head, String request) {
+        for (SupportHandler handler = head; handler != null; handler = handler.nextHandler) {
+            if (handler.canHandle(request)) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    private static int id(SupportHandler handler) {
+        return handler == null ? -1 : System.identityHashCode(handler);
+    }
+
+    private static class RuleHandler extends KeywordSupportHandler {
+        RuleHandler(String... keywords) {
+            super(keywords);
+        }
+
+        @Override
+        protected void processRequest(String request) {
+        }
+    }
+}
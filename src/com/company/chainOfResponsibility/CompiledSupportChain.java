@@ -0,0 +1,156 @@
+package com.company.chainOfResponsibility;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Routes requests for a whole handler chain with one scan of the request.
+// The keywords of all KeywordSupportHandlers are compiled into one Aho-Corasick automaton
+// (a full DFA over the characters that occur in keywords) whose states know the earliest
+// chain position with a keyword ending there. Other handlers keep their own canHandle and are
+// asked in chain order, but only if they come before the best keyword match, so the handler
+// chosen is always the first one in the chain that can handle the request.
+// The chain is captured when the object is built; later setNextHandler calls are not seen.
+class CompiledSupportChain {
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final SupportHandler[] handlers;
+    private final int[] opaqueHandlers;
+    private final int firstKeywordHandler;
+
+    // Character classes: 0 for chars that occur in no keyword
+    private final char[] charClasses = new char[Character.MAX_VALUE + 1];
+    private final int classCount;
+    private final int[] transitions;
+    private final int[] earliestMatch;
+
+    CompiledSupportChain(SupportHandler head) {
+        List<SupportHandler> chain = new ArrayList<>();
+        Map<SupportHandler, Boolean> seen = new IdentityHashMap<>();
+        for (SupportHandler handler = head; handler != null; handler = handler.nextHandler) {
+            if (seen.put(handler, Boolean.TRUE) != null) {
+                throw new IllegalArgumentException("Handler chain contains a cycle");
+            }
+            chain.add(handler);
+        }
+        this.handlers = chain.toArray(new SupportHandler[0]);
+
+        int classes = 1;
+        int keywordChars = 0;
+        int firstKeyword = NO_MATCH;
+        List<Integer> opaque = new ArrayList<>();
+        for (int i = 0; i < handlers.length; i++) {
+            if (!(handlers[i] instanceof KeywordSupportHandler)) {
+                opaque.add(i);
+                continue;
+            }
+            firstKeyword = Math.min(firstKeyword, i);
+            for (String keyword : ((KeywordSupportHandler) handlers[i]).getKeywords()) {
+                keywordChars += keyword.length();
+                for (int c = 0; c < keyword.length(); c++) {
+                    if (charClasses[keyword.charAt(c)] == 0) {
+                        charClasses[keyword.charAt(c)] = (char) classes++;
+                    }
+                }
+            }
+        }
+        this.classCount = classes;
+        this.firstKeywordHandler = firstKeyword;
+        this.opaqueHandlers = new int[opaque.size()];
+        for (int i = 0; i < opaqueHandlers.length; i++) {
+            opaqueHandlers[i] = opaque.get(i);
+        }
+
+        // Trie of all keywords; transitions[state * classCount + class], 0 meaning "none yet"
+        int[] trie = new int[(keywordChars + 1) * classes];
+        int[] match = new int[keywordChars + 1];
+        Arrays.fill(match, NO_MATCH);
+        int states = 1;
+        for (int i = 0; i < handlers.length; i++) {
+            if (!(handlers[i] instanceof KeywordSupportHandler)) {
+                continue;
+            }
+            for (String keyword : ((KeywordSupportHandler) handlers[i]).getKeywords()) {
+                int state = 0;
+                for (int c = 0; c < keyword.length(); c++) {
+                    int slot = state * classes + charClasses[keyword.charAt(c)];
+                    if (trie[slot] == 0) {
+                        trie[slot] = states++;
+                    }
+                    state = trie[slot];
+                }
+                match[state] = Math.min(match[state], i);
+            }
+        }
+
+        // Breadth-first: fill missing transitions from the failure state and inherit its matches
+        this.transitions = Arrays.copyOf(trie, states * classes);
+        this.earliestMatch = Arrays.copyOf(match, states);
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 1; cls < classes; cls++) {
+            int child = transitions[cls];
+            if (child != 0) {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            earliestMatch[state] = Math.min(earliestMatch[state], earliestMatch[failure[state]]);
+            for (int cls = 1; cls < classes; cls++) {
+                int slot = state * classes + cls;
+                int child = transitions[slot];
+                int fallback = transitions[failure[state] * classes + cls];
+                if (child != 0) {
+                    failure[child] = fallback;
+                    queue.add(child);
+                } else {
+                    transitions[slot] = fallback;
+                }
+            }
+        }
+    }
+
+    // The first handler in chain order whose canHandle would accept the request, or null
+    SupportHandler route(String request) {
+        int best = NO_MATCH;
+        if (firstKeywordHandler != NO_MATCH) {
+            int state = 0;
+            for (int i = 0, length = request.length(); i < length; i++) {
+                state = transitions[state * classCount + charClasses[request.charAt(i)]];
+                if (earliestMatch[state] < best) {
+                    best = earliestMatch[state];
+                    if (best == firstKeywordHandler) {
+                        break;
+                    }
+                }
+            }
+        }
+        for (int index : opaqueHandlers) {
+            if (index > best) {
+                break;
+            }
+            if (handlers[index].canHandle(request)) {
+                return handlers[index];
+            }
+        }
+        return best == NO_MATCH ? null : handlers[best];
+    }
+
+    void handleRequest(String request) {
+        SupportHandler handler = route(request);
+        if (handler != null) {
+            handler.processRequest(request);
+        } else {
+            System.out.println("Request could not be handled");
+        }
+    }
+
+    int size() {
+        return handlers.length;
+    }
+}
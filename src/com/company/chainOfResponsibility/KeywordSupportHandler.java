@@ -0,0 +1,39 @@
+package com.company.chainOfResponsibility;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// A handler that accepts every request containing at least one of its keywords.
+// Declaring the keywords instead of hiding them in canHandle lets CompiledSupportChain
+// route requests for all such handlers with a single scan. canHandle is final so that the
+// keywords are the whole rule; a handler with other conditions should extend SupportHandler.
+abstract class KeywordSupportHandler extends SupportHandler {
+    private final List<String> keywords;
+
+    protected KeywordSupportHandler(String... keywords) {
+        if (keywords.length == 0) {
+            throw new IllegalArgumentException("At least one keyword is required");
+        }
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords must not be empty");
+            }
+        }
+        this.keywords = Collections.unmodifiableList(Arrays.asList(keywords.clone()));
+    }
+
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    @Override
+    protected final boolean canHandle(String request) {
+        for (String keyword : keywords) {
+            if (request.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
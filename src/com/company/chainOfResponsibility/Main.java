@@ -10,5 +10,17 @@ public class Main {
         supervisor.setNextHandler(manager);
 
         basic.handleRequest("Request for supervisor");
+
+        // Same chain, routed with one scan over the request
+        CompiledSupportChain compiled = new CompiledSupportChain(basic);
+        compiled.handleRequest("Request for manager");
+
+        // Same chain with a queue and worker threads per handler
+        try (AsyncSupportChain async = new AsyncSupportChain(basic, 16, 2)) {
+            async.submit("Request for basic support").join();
+            System.out.println(async.getMetrics());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -1,9 +1,8 @@
 package com.company.chainOfResponsibility;
 
-class ManagerSupport extends SupportHandler {
-    @Override
-    protected boolean canHandle(String request) {
-        return request.contains("manager");
+class ManagerSupport extends KeywordSupportHandler {
+    ManagerSupport() {
+        super("manager");
     }
 
     @Override
@@ -1,9 +1,8 @@
 package com.company.chainOfResponsibility;
 
-class SupervisorSupport extends SupportHandler {
-    @Override
-    protected boolean canHandle(String request) {
-        return request.contains("supervisor");
+class SupervisorSupport extends KeywordSupportHandler {
+    SupervisorSupport() {
+        super("supervisor");
     }
 
     @Override
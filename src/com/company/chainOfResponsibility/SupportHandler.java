@@ -7,14 +7,15 @@ abstract class SupportHandler {
         this.nextHandler = nextHandler;
     }
 
+    // Walks the chain in a loop rather than by recursion, so long chains cannot overflow the stack
     public void handleRequest(String request) {
-        if (canHandle(request)) {
-            processRequest(request);
-        } else if (nextHandler != null) {
-            nextHandler.handleRequest(request);
-        } else {
-            System.out.println("Request could not be handled");
+        for (SupportHandler handler = this; handler != null; handler = handler.nextHandler) {
+            if (handler.canHandle(request)) {
+                handler.processRequest(request);
+                return;
+            }
         }
+        System.out.println("Request could not be handled");
     }
 
     protected abstract boolean canHandle(String request);
@@ -0,0 +1,30 @@
+package com.company.composite;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Level-order iterator over a FileSystem tree
+class BreadthFirstIterator implements Iterator<FileSystem> {
+    private final Deque<FileSystem> queue = new ArrayDeque<>();
+
+    public BreadthFirstIterator(FileSystem root) {
+        queue.add(root);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public FileSystem next() {
+        FileSystem current = queue.poll();
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+        queue.addAll(FileSystemStreams.childrenOf(current));
+        return current;
+    }
+}
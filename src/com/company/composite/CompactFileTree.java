@@ -0,0 +1,291 @@
+package com.company.composite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Memory-compact alternative to the File/Directory object tree for very large hierarchies.
+// Nodes are int ids into parallel arrays (parent / first child / last child / next sibling links,
+// name id, size, file count) and names live once each in a shared NamePool, so a node costs
+// about 32 bytes instead of an object with its own child list. view(id) wraps a node in a
+// small FileSystem cursor so existing client code keeps working.
+final class CompactFileTree {
+    static final int NONE = -1;
+    private static final int DETACHED = -2;
+
+    private final NamePool names = new NamePool();
+    private final BitSet directories = new BitSet();
+    private int[] parent;
+    private int[] firstChild;
+    private int[] lastChild;
+    private int[] nextSibling;
+    private int[] nameId;
+    private long[] size;     // file: its own size; directory: total size of the files below it
+    private int[] fileCount; // file: 1; directory: number of files below it
+    private int count;
+
+    public CompactFileTree(String rootName, int expectedNodes) {
+        int capacity = Math.max(expectedNodes, 16);
+        parent = new int[capacity];
+        firstChild = new int[capacity];
+        lastChild = new int[capacity];
+        nextSibling = new int[capacity];
+        nameId = new int[capacity];
+        size = new long[capacity];
+        fileCount = new int[capacity];
+        newNode(NONE, rootName, true, 0);
+    }
+
+    public int root() {
+        return 0;
+    }
+
+    public int addDirectory(int parentId, String name) {
+        return newNode(parentId, name, true, 0);
+    }
+
+    // Names are expected to be unique per directory; they are not checked, to keep adds O(1)
+    public int addFile(int parentId, String name, long fileSize) {
+        if (fileSize < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        return newNode(parentId, name, false, fileSize);
+    }
+
+    // Detach a node (and its subtree) from its parent; its slots are not reused
+    public void remove(int id) {
+        int parentId = parent[id];
+        if (id == root() || parentId < 0) {
+            throw new IllegalArgumentException("Node " + id + " is not attached");
+        }
+        int previous = NONE;
+        for (int child = firstChild[parentId]; child != id; child = nextSibling[child]) {
+            previous = child;
+        }
+        if (previous == NONE) {
+            firstChild[parentId] = nextSibling[id];
+        } else {
+            nextSibling[previous] = nextSibling[id];
+        }
+        if (lastChild[parentId] == id) {
+            lastChild[parentId] = previous;
+        }
+        nextSibling[id] = NONE;
+        parent[id] = DETACHED;
+        propagate(parentId, -size[id], -fileCount[id]);
+    }
+
+    public void setSize(int fileId, long fileSize) {
+        if (directories.get(fileId)) {
+            throw new IllegalArgumentException("Node " + fileId + " is a directory");
+        }
+        long delta = fileSize - size[fileId];
+        size[fileId] = fileSize;
+        if (parent[fileId] >= 0) {
+            propagate(parent[fileId], delta, 0);
+        }
+    }
+
+    public int findChild(int directoryId, String name) {
+        int id = names.lookup(name);
+        if (id < 0) {
+            return NONE;
+        }
+        for (int child = firstChild[directoryId]; child != NONE; child = nextSibling[child]) {
+            if (nameId[child] == id) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    // Resolve a slash-separated path from the root; returns NONE if it does not exist
+    public int resolve(String path) {
+        int current = root();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                current = parent[current] >= 0 ? parent[current] : current;
+            } else if (!directories.get(current) || (current = findChild(current, segment)) == NONE) {
+                return NONE;
+            }
+        }
+        return current;
+    }
+
+    // Allocation-free navigation for bulk traversals
+    public int parent(int id) {
+        return parent[id] >= 0 ? parent[id] : NONE;
+    }
+
+    public int firstChild(int id) {
+        return firstChild[id];
+    }
+
+    public int nextSibling(int id) {
+        return nextSibling[id];
+    }
+
+    public boolean isDirectory(int id) {
+        return directories.get(id);
+    }
+
+    public String name(int id) {
+        return names.get(nameId[id]);
+    }
+
+    public long size(int id) {
+        return size[id];
+    }
+
+    public long fileCount(int id) {
+        return fileCount[id];
+    }
+
+    public int nodeCount() {
+        return count;
+    }
+
+    // Approximate bytes held by the arrays and the name pool
+    public long memoryBytes() {
+        return (long) parent.length * (5 * 4 + 8 + 4) + directories.size() / 8 + names.byteSize();
+    }
+
+    public FileSystem view(int id) {
+        return new NodeView(id);
+    }
+
+    private int newNode(int parentId, String name, boolean directory, long fileSize) {
+        if (parentId != NONE && (!directories.get(parentId) || parent[parentId] == DETACHED)) {
+            throw new IllegalArgumentException("Node " + parentId + " is not an attached directory");
+        }
+        if (count == parent.length) {
+            grow();
+        }
+        int id = count++;
+        parent[id] = parentId;
+        firstChild[id] = NONE;
+        lastChild[id] = NONE;
+        nextSibling[id] = NONE;
+        nameId[id] = names.intern(name);
+        size[id] = fileSize;
+        fileCount[id] = directory ? 0 : 1;
+        directories.set(id, directory);
+        if (parentId != NONE) {
+            if (lastChild[parentId] == NONE) {
+                firstChild[parentId] = id;
+            } else {
+                nextSibling[lastChild[parentId]] = id;
+            }
+            lastChild[parentId] = id;
+            propagate(parentId, fileSize, fileCount[id]);
+        }
+        return id;
+    }
+
+    private void propagate(int directoryId, long sizeDelta, int fileCountDelta) {
+        for (int id = directoryId; id >= 0; id = parent[id]) {
+            size[id] += sizeDelta;
+            fileCount[id] += fileCountDelta;
+        }
+    }
+
+    private void grow() {
+        int capacity = parent.length + (parent.length >> 1);
+        parent = Arrays.copyOf(parent, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        lastChild = Arrays.copyOf(lastChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        nameId = Arrays.copyOf(nameId, capacity);
+        size = Arrays.copyOf(size, capacity);
+        fileCount = Arrays.copyOf(fileCount, capacity);
+    }
+
+    // Lightweight FileSystem cursor over one node; holds nothing but the id
+    final class NodeView implements FileSystem {
+        private final int id;
+
+        NodeView(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        // Pre-order walk using the parent links instead of recursion or an explicit stack
+        @Override
+        public void showDetails() {
+            int node = id;
+            while (true) {
+                System.out.println((CompactFileTree.this.isDirectory(node) ? "Directory: " : "File: ") + name(node));
+                if (firstChild[node] != NONE) {
+                    node = firstChild[node];
+                    continue;
+                }
+                while (node != id && nextSibling[node] == NONE) {
+                    node = parent[node];
+                }
+                if (node == id) {
+                    return;
+                }
+                node = nextSibling[node];
+            }
+        }
+
+        @Override
+        public String getName() {
+            return name(id);
+        }
+
+        @Override
+        public long getSize() {
+            return size[id];
+        }
+
+        @Override
+        public long getFileCount() {
+            return fileCount[id];
+        }
+
+        @Override
+        public FileSystem getParent() {
+            int parentId = parent(id);
+            return parentId == NONE ? null : new NodeView(parentId);
+        }
+
+        public boolean isDirectory() {
+            return CompactFileTree.this.isDirectory(id);
+        }
+
+        public List<FileSystem> getContents() {
+            List<FileSystem> children = new ArrayList<>();
+            for (int child = firstChild[id]; child != NONE; child = nextSibling[child]) {
+                children.add(new NodeView(child));
+            }
+            return children;
+        }
+
+        public FileSystem getChild(String name) {
+            int child = findChild(id, name);
+            return child == NONE ? null : new NodeView(child);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof NodeView && ((NodeView) other).id == id && ((NodeView) other).tree() == tree();
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        private CompactFileTree tree() {
+            return CompactFileTree.this;
+        }
+    }
+}
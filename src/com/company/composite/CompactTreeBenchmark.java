@@ -0,0 +1,84 @@
+package com.company.composite;
+
+// Heap used per node by the File/Directory object tree vs CompactFileTree.
+// Pass a node count (e.g. 50000000 with a large -Xmx) to try bigger trees.
+public class CompactTreeBenchmark {
+    private static final int FILES_PER_DIRECTORY = 50;
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        long before = usedHeap();
+        Directory objectRoot = buildObjectTree(nodes);
+        long objectBytes = usedHeap() - before;
+        long objectFiles = objectRoot.getFileCount();
+        objectRoot = null;
+
+        before = usedHeap();
+        CompactFileTree compact = buildCompactTree(nodes);
+        long compactBytes = usedHeap() - before;
+
+        long start = System.nanoTime();
+        long visited = 0;
+        // Allocation-free pre-order scan over the arrays
+        for (int id = compact.firstChild(compact.root()); id != CompactFileTree.NONE; ) {
+            visited++;
+            if (compact.firstChild(id) != CompactFileTree.NONE) {
+                id = compact.firstChild(id);
+                continue;
+            }
+            while (id != CompactFileTree.NONE && compact.nextSibling(id) == CompactFileTree.NONE) {
+                id = compact.parent(id);
+                if (id == compact.root()) {
+                    id = CompactFileTree.NONE;
+                }
+            }
+            if (id != CompactFileTree.NONE) {
+                id = compact.nextSibling(id);
+            }
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        System.out.println(nodes + " nodes, " + objectFiles + " files");
+        System.out.println("Object tree:  " + objectBytes / nodes + " bytes/node");
+        System.out.println("Compact tree: " + compactBytes / nodes + " bytes/node (arrays + name pool estimate "
+                + compact.memoryBytes() / compact.nodeCount() + ")");
+        System.out.println("Compact pre-order scan: " + scanNanos / 1_000_000 + " ms for " + visited + " nodes, "
+                + "root size " + compact.view(compact.root()).getSize());
+    }
+
+    private static Directory buildObjectTree(int nodes) {
+        Directory root = new Directory("Root");
+        Directory current = null;
+        for (int i = 1; i < nodes; i++) {
+            if (i % (FILES_PER_DIRECTORY + 1) == 1) {
+                current = new Directory("dir" + i);
+                root.add(current);
+            } else {
+                current.add(new File("part-" + (i % 1000) + ".dat", i % 4096));
+            }
+        }
+        return root;
+    }
+
+    private static CompactFileTree buildCompactTree(int nodes) {
+        CompactFileTree tree = new CompactFileTree("Root", nodes);
+        int current = CompactFileTree.NONE;
+        for (int i = 1; i < nodes; i++) {
+            if (i % (FILES_PER_DIRECTORY + 1) == 1) {
+                current = tree.addDirectory(tree.root(), "dir" + i);
+            } else {
+                tree.addFile(current, "part-" + (i % 1000) + ".dat", i % 4096);
+            }
+        }
+        return tree;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
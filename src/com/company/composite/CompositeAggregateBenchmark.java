@@ -0,0 +1,57 @@
+package com.company.composite;
+
+// Cached directory aggregates vs a full subtree walk.
+// Run with a node count argument (e.g. 10000000 with -Xmx4g) for larger trees.
+public class CompositeAggregateBenchmark {
+    public static void main(String[] args) {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int perDirectory = (int) Math.ceil(Math.sqrt(files));
+
+        Directory root = new Directory("Root");
+        File last = null;
+        for (int d = 0, created = 0; created < files; d++) {
+            Directory directory = new Directory("Dir" + d);
+            for (int f = 0; f < perDirectory && created < files; f++, created++) {
+                last = new File("File" + created, created % 4096);
+                directory.add(last);
+            }
+            root.add(directory);
+        }
+
+        long start = System.nanoTime();
+        long walkedSize = 0;
+        for (int i = 0; i < 5; i++) {
+            walkedSize = walkSize(root);
+        }
+        long walkNanos = (System.nanoTime() - start) / 5;
+
+        start = System.nanoTime();
+        long cachedSize = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            cachedSize += root.getSize();
+        }
+        long cachedNanos = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        for (int i = 0; i < 1_000_000; i++) {
+            last.setSize(i);
+        }
+        long updateNanos = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(files + " files in " + root.getContents().size() + " directories");
+        System.out.println("Subtree walk:    " + walkNanos + " ns (size " + walkedSize + ")");
+        System.out.println("Cached getSize:  " + cachedNanos + " ns (checksum " + cachedSize + ")");
+        System.out.println("setSize update:  " + updateNanos + " ns, file count " + root.getFileCount());
+    }
+
+    private static long walkSize(FileSystem node) {
+        if (node instanceof Directory) {
+            long size = 0;
+            for (FileSystem child : ((Directory) node).getContents()) {
+                size += walkSize(child);
+            }
+            return size;
+        }
+        return node.getSize();
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.composite;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Pre-order iterator over a FileSystem tree. Keeps an explicit stack of child iterators
+// instead of recursing, so tree depth is limited by heap rather than the thread stack.
+class DepthFirstIterator implements Iterator<FileSystem> {
+    private final Deque<Iterator<FileSystem>> stack = new ArrayDeque<>();
+    private FileSystem next;
+
+    public DepthFirstIterator(FileSystem root) {
+        this.next = root;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public FileSystem next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        FileSystem current = next;
+        Iterator<FileSystem> children = FileSystemStreams.childrenOf(current).iterator();
+        if (children.hasNext()) {
+            stack.push(children);
+        }
+        next = null;
+        while (!stack.isEmpty()) {
+            Iterator<FileSystem> top = stack.peek();
+            if (top.hasNext()) {
+                next = top.next();
+                break;
+            }
+            stack.pop();
+        }
+        return current;
+    }
+}
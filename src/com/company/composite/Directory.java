@@ -1,31 +1,229 @@
 package com.company.composite;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 // Composite
 class Directory implements FileSystem {
+    // Above this many children, lookups go through a name -> position index instead of a scan
+    static final int INDEX_THRESHOLD = 16;
+
     private String name;
     private List<FileSystem> contents = new ArrayList<>();
+    private Directory parent;
+
+    // Only used for large directories. Removed children leave a null slot behind so that
+    // removal is O(1); the list is compacted once half of it is empty or before it is exposed.
+    private Map<String, Integer> index;
+    private int removedSlots;
+
+    // Aggregates over the whole subtree, kept up to date on every change below this directory
+    private long totalSize;
+    private long fileCount;
+    private long nodeCount;
 
     public Directory(String name) {
         this.name = name;
     }
 
+    // Only File and Directory nodes can be attached: other FileSystem implementations (such as
+    // compact tree cursors) have no parent link to maintain, so they are rejected up front
     public void add(FileSystem component) {
+        if (!(component instanceof File) && !(component instanceof Directory)) {
+            throw new IllegalArgumentException("Cannot add " + component.getClass().getSimpleName()
+                    + " to a Directory");
+        }
+        for (Directory ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor == component) {
+                throw new IllegalArgumentException("Cannot add a directory to itself or its descendants");
+            }
+        }
+        if (findChild(component.getName()) != null) {
+            throw new IllegalArgumentException("Directory " + name + " already contains " + component.getName());
+        }
+        FileSystem oldParent = component.getParent();
+        if (oldParent instanceof Directory) {
+            ((Directory) oldParent).remove(component);
+        }
         contents.add(component);
+        if (index != null) {
+            index.put(component.getName(), contents.size() - 1);
+        } else if (contents.size() > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+        setParent(component, this);
+        propagate(cachedSize(component), cachedFileCount(component), cachedNodeCount(component));
     }
 
     public void remove(FileSystem component) {
-        contents.remove(component);
+        boolean removed;
+        if (index != null) {
+            Integer position = index.get(component.getName());
+            removed = position != null && contents.get(position) == component;
+            if (removed) {
+                contents.set(position, null);
+                index.remove(component.getName());
+                if (++removedSlots > contents.size() / 2) {
+                    compact();
+                }
+            }
+        } else {
+            removed = contents.remove(component);
+        }
+        if (removed) {
+            setParent(component, null);
+            propagate(-cachedSize(component), -cachedFileCount(component), -cachedNodeCount(component));
+        }
+    }
+
+    public List<FileSystem> getContents() {
+        compact();
+        return Collections.unmodifiableList(contents);
+    }
+
+    // Direct child with the given name, or null
+    public FileSystem getChild(String childName) {
+        return findChild(childName);
+    }
+
+    // Resolve a slash-separated path against this directory, one child lookup per segment.
+    // A leading "/" starts from the root of the tree; "." and ".." are supported.
+    public FileSystem resolve(String path) {
+        FileSystem current = this;
+        if (path.startsWith("/")) {
+            while (current.getParent() != null) {
+                current = current.getParent();
+            }
+        }
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                current = current.getParent() != null ? current.getParent() : current;
+            } else if (current instanceof Directory) {
+                current = ((Directory) current).getChild(segment);
+                if (current == null) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    private FileSystem findChild(String childName) {
+        if (index != null) {
+            Integer position = index.get(childName);
+            return position != null ? contents.get(position) : null;
+        }
+        for (FileSystem component : contents) {
+            if (component.getName().equals(childName)) {
+                return component;
+            }
+        }
+        return null;
+    }
+
+    // Drop the null slots left by removals (in place, so views stay valid) and renumber the index
+    private void compact() {
+        if (removedSlots == 0) {
+            return;
+        }
+        int live = 0;
+        for (int i = 0; i < contents.size(); i++) {
+            FileSystem component = contents.get(i);
+            if (component != null) {
+                contents.set(live++, component);
+            }
+        }
+        contents.subList(live, contents.size()).clear();
+        removedSlots = 0;
+        if (contents.size() > INDEX_THRESHOLD) {
+            rebuildIndex();
+        } else {
+            index = null;
+        }
+    }
+
+    private void rebuildIndex() {
+        index = new HashMap<>(contents.size() * 2);
+        for (int i = 0; i < contents.size(); i++) {
+            index.put(contents.get(i).getName(), i);
+        }
+    }
+
+    // Apply a change to the cached aggregates of this directory and every ancestor: O(depth)
+    void propagate(long sizeDelta, long fileCountDelta, long nodeCountDelta) {
+        for (Directory directory = this; directory != null; directory = directory.parent) {
+            directory.totalSize += sizeDelta;
+            directory.fileCount += fileCountDelta;
+            directory.nodeCount += nodeCountDelta;
+        }
+    }
+
+    private static void setParent(FileSystem component, Directory parent) {
+        if (component instanceof Directory) {
+            ((Directory) component).parent = parent;
+        } else {
+            ((File) component).setParent(parent);
+        }
+    }
+
+    // Aggregates as currently cached, without letting subclasses compute anything
+    private static long cachedSize(FileSystem component) {
+        return component instanceof Directory ? ((Directory) component).totalSize : component.getSize();
+    }
+
+    private static long cachedFileCount(FileSystem component) {
+        return component instanceof Directory ? ((Directory) component).fileCount : component.getFileCount();
+    }
+
+    // The component itself plus, for a directory, every node below it
+    private static long cachedNodeCount(FileSystem component) {
+        return component instanceof Directory ? ((Directory) component).nodeCount + 1 : 1;
     }
 
     @Override
     public void showDetails() {
-        System.out.println("Directory: " + name);
-        for (FileSystem component : contents) {
-            component.showDetails();
+        // Iterative walk, so very deep trees cannot overflow the stack
+        for (Iterator<FileSystem> nodes = new DepthFirstIterator(this); nodes.hasNext(); ) {
+            FileSystem node = nodes.next();
+            if (node instanceof Directory) {
+                System.out.println("Directory: " + node.getName());
+            } else {
+                node.showDetails();
+            }
         }
     }
-}
 
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSize() {
+        return totalSize;
+    }
+
+    @Override
+    public long getFileCount() {
+        return fileCount;
+    }
+
+    // Number of files and directories below this directory, not counting itself
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public Directory getParent() {
+        return parent;
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.composite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Name lookup, path resolution and removal in a directory with 10^5 children,
+// compared with scanning a plain child list
+public class DirectoryLookupBenchmark {
+    public static void main(String[] args) {
+        int children = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int lookups = 100_000;
+
+        Directory root = new Directory("Root");
+        Directory wide = new Directory("wide");
+        root.add(wide);
+        List<FileSystem> scanned = new ArrayList<>(children);
+        for (int i = 0; i < children; i++) {
+            File file = new File("file" + i, i);
+            wide.add(file);
+            scanned.add(file);
+        }
+        Directory deep = wide;
+        for (int i = 0; i < 32; i++) {
+            Directory next = new Directory("level" + i);
+            deep.add(next);
+            deep = next;
+        }
+        deep.add(new File("leaf.txt", 1));
+
+        long start = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < lookups; i++) {
+            found += wide.getChild("file" + (i * 7919 % children)).getSize();
+        }
+        long indexedNanos = (System.nanoTime() - start) / lookups;
+
+        int scans = Math.max(1, lookups / 100); // the scan is too slow to run the full count
+        start = System.nanoTime();
+        for (int i = 0; i < scans; i++) {
+            String name = "file" + (i * 7919 % children);
+            for (FileSystem component : scanned) {
+                if (component.getName().equals(name)) {
+                    found += component.getSize();
+                    break;
+                }
+            }
+        }
+        long scanNanos = (System.nanoTime() - start) / scans;
+
+        StringBuilder path = new StringBuilder("/wide");
+        for (int i = 0; i < 32; i++) {
+            path.append("/level").append(i);
+        }
+        String leafPath = path.append("/leaf.txt").toString();
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            found += deep.resolve(leafPath).getSize();
+        }
+        long resolveNanos = (System.nanoTime() - start) / lookups;
+
+        Collections.shuffle(scanned);
+        start = System.nanoTime();
+        for (FileSystem component : scanned) {
+            wide.remove(component);
+        }
+        long removeNanos = (System.nanoTime() - start) / children;
+
+        System.out.println(children + " children (checksum " + found + ")");
+        System.out.println("Indexed getChild: " + indexedNanos + " ns");
+        System.out.println("Linear scan:      " + scanNanos + " ns");
+        System.out.println("Resolve depth 34: " + resolveNanos + " ns");
+        System.out.println("Remove:           " + removeNanos + " ns (" + wide.getContents().size() + " left)");
+    }
+}
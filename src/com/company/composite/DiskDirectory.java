@@ -0,0 +1,98 @@
+package com.company.composite;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+
+// Composite backed by a real directory; children are read from disk on first access.
+// Cached aggregates (size, file count) only cover the part of the tree loaded so far, and
+// getSize/getFileCount never touch the disk: call loadAll first when exact totals of an
+// unexplored subtree are needed.
+// Loading is thread-safe, so a parallel traversal may expand directories from several workers:
+// each directory is listed at most once, and children are attached under a lock shared by the
+// whole view because attaching them updates the cached aggregates of every ancestor.
+// Structural changes through add/remove are not synchronized and must not overlap a parallel walk.
+class DiskDirectory extends Directory {
+    private final Path path;
+    private final DiskFileSystemView view;
+    private volatile boolean loaded;
+    private volatile boolean fullyLoaded;
+
+    DiskDirectory(String name, Path path, DiskFileSystemView view) {
+        super(name);
+        this.path = path;
+        this.view = view;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Override
+    public void add(FileSystem component) {
+        load();
+        super.add(component);
+    }
+
+    @Override
+    public void remove(FileSystem component) {
+        load();
+        super.remove(component);
+    }
+
+    @Override
+    public List<FileSystem> getContents() {
+        load();
+        return super.getContents();
+    }
+
+    @Override
+    public FileSystem getChild(String childName) {
+        load();
+        return super.getChild(childName);
+    }
+
+    // Expand every directory below this one, so that getSize/getFileCount cover the whole subtree
+    public void loadAll() {
+        ArrayDeque<DiskDirectory> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            DiskDirectory directory = pending.pop();
+            if (directory.fullyLoaded) {
+                continue;
+            }
+            directory.load();
+            for (FileSystem child : directory.getContents()) {
+                if (child instanceof DiskDirectory) {
+                    pending.push((DiskDirectory) child);
+                }
+            }
+        }
+        fullyLoaded = true;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            // If listing fails, loaded stays false and the next access tries again
+            List<DiskFileSystemView.Entry> entries = view.list(path);
+            synchronized (view) {
+                for (DiskFileSystemView.Entry entry : entries) {
+                    super.add(entry.directory
+                            ? new DiskDirectory(entry.name, path.resolve(entry.name), view)
+                            : new File(entry.name, entry.size));
+                }
+            }
+            loaded = true;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.company.composite;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+// Builds a lazy FileSystem view of a real directory.
+// Each DiskDirectory reads its listing on first access; when a directory is expanded, the
+// first few of its subdirectories are listed in the background so that a depth-first
+// consumer usually finds the next listing already waiting. At most maxPrefetched unclaimed
+// listings are kept; when the cap is reached the oldest one is dropped to make room.
+class DiskFileSystemView implements AutoCloseable {
+    // One directory entry, with the attributes read in a single call
+    static final class Entry {
+        final String name;
+        final boolean directory;
+        final long size;
+
+        Entry(String name, boolean directory, long size) {
+            this.name = name;
+            this.directory = directory;
+            this.size = size;
+        }
+    }
+
+    private final int prefetchLimit;
+    private final int maxPrefetched;
+    // Guarded by itself; oldest prefetch first
+    private final Map<Path, CompletableFuture<List<Entry>>> prefetched = new LinkedHashMap<>();
+    private final ExecutorService prefetcher;
+    private volatile boolean closed;
+
+    // No prefetching: every listing is read on the calling thread
+    public DiskFileSystemView() {
+        this(0, 0, 0);
+    }
+
+    // prefetchLimit: subdirectories warmed per expanded directory;
+    // maxPrefetched: cap on listings held in memory that nobody has asked for yet
+    public DiskFileSystemView(int prefetchThreads, int prefetchLimit, int maxPrefetched) {
+        this.prefetchLimit = prefetchLimit;
+        this.maxPrefetched = maxPrefetched;
+        this.prefetcher = prefetchThreads > 0 ? Executors.newFixedThreadPool(prefetchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "directory-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public Directory open(Path root) {
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("Not a directory: " + root);
+        }
+        Path fileName = root.getFileName();
+        return new DiskDirectory(fileName != null ? fileName.toString() : root.toString(), root, this);
+    }
+
+    // Listing for a directory, taken from the prefetch cache when available
+    List<Entry> list(Path directory) {
+        CompletableFuture<List<Entry>> pending;
+        synchronized (prefetched) {
+            pending = prefetched.remove(directory);
+        }
+        List<Entry> entries;
+        if (pending != null) {
+            try {
+                entries = pending.join();
+            } catch (CompletionException e) {
+                entries = read(directory); // report the failure from the caller's thread
+            }
+        } else {
+            entries = read(directory);
+        }
+        prefetchChildren(directory, entries);
+        return entries;
+    }
+
+    private void prefetchChildren(Path directory, List<Entry> entries) {
+        if (prefetcher == null || maxPrefetched <= 0 || closed) {
+            return;
+        }
+        int scheduled = 0;
+        synchronized (prefetched) {
+            for (Entry entry : entries) {
+                if (scheduled == prefetchLimit) {
+                    break;
+                }
+                if (!entry.directory) {
+                    continue;
+                }
+                Path child = directory.resolve(entry.name);
+                if (!prefetched.containsKey(child)) {
+                    CompletableFuture<List<Entry>> listing;
+                    try {
+                        listing = CompletableFuture.supplyAsync(() -> read(child), prefetcher);
+                    } catch (RejectedExecutionException e) {
+                        return; // closed concurrently
+                    }
+                    prefetched.put(child, listing);
+                    Iterator<CompletableFuture<List<Entry>>> oldest = prefetched.values().iterator();
+                    while (prefetched.size() > maxPrefetched) {
+                        oldest.next().cancel(false);
+                        oldest.remove();
+                    }
+                }
+                scheduled++;
+            }
+        }
+    }
+
+    private static List<Entry> read(Path directory) {
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes =
+                        Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                entries.add(new Entry(path.getFileName().toString(), attributes.isDirectory(),
+                        attributes.isDirectory() ? 0 : attributes.size()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    @Override
+    // Unclaimed prefetches are cancelled; reads already handed to a caller still complete
+    public void close() {
+        closed = true;
+        synchronized (prefetched) {
+            for (CompletableFuture<List<Entry>> listing : prefetched.values()) {
+                listing.cancel(false);
+            }
+            prefetched.clear();
+        }
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+    }
+}
@@ -3,13 +3,60 @@ package com.company.composite;
 // Leaf
 class File implements FileSystem {
     private String name;
+    private long size;
+    private Directory parent;
 
     public File(String name) {
+        this(name, 0);
+    }
+
+    public File(String name, long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
         this.name = name;
+        this.size = size;
     }
 
     @Override
     public void showDetails() {
         System.out.println("File: " + name);
     }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    // Resizing only updates the cached totals of this file's ancestors
+    public void setSize(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        long delta = size - this.size;
+        this.size = size;
+        if (parent != null) {
+            parent.propagate(delta, 0, 0);
+        }
+    }
+
+    @Override
+    public long getFileCount() {
+        return 1;
+    }
+
+    @Override
+    public Directory getParent() {
+        return parent;
+    }
+
+    // Only called by Directory.add/remove
+    void setParent(Directory parent) {
+        this.parent = parent;
+    }
 }
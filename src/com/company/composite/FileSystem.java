@@ -2,4 +2,15 @@ package com.company.composite;
 
 interface FileSystem {
     void showDetails();
+
+    String getName();
+
+    // Size in bytes; for a directory, the total size of every file below it
+    long getSize();
+
+    // 1 for a file; for a directory, the number of files below it
+    long getFileCount();
+
+    // Maintained by Directory.add/remove
+    FileSystem getParent();
 }
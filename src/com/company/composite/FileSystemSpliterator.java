@@ -0,0 +1,113 @@
+package com.company.composite;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Splittable pre-order spliterator over a FileSystem tree.
+// It owns an optional head node, a range of sibling subtrees and possibly a partly consumed
+// subtree. trySplit hands the earlier half (by cached node count) to the new spliterator, which
+// keeps encounter order; a single directory is split by emitting it as the head and splitting
+// its children. Sizes come from the directories' cached node counts; they are reported as
+// estimates only (no SIZED characteristic) because the tree may change during iteration and
+// other FileSystem implementations only provide an approximation.
+class FileSystemSpliterator implements Spliterator<FileSystem> {
+    private FileSystem head;                 // emitted on its own, children are in `roots`
+    private DepthFirstIterator current;      // subtree being consumed, comes before `roots`
+    private List<FileSystem> roots;
+    private int from;
+    private int to;
+    private long estimate;
+
+    public FileSystemSpliterator(FileSystem root) {
+        this(null, null, Collections.singletonList(root), 0, 1, weight(root));
+    }
+
+    private FileSystemSpliterator(FileSystem head, DepthFirstIterator current, List<FileSystem> roots,
+                                  int from, int to, long estimate) {
+        this.head = head;
+        this.current = current;
+        this.roots = roots;
+        this.from = from;
+        this.to = to;
+        this.estimate = estimate;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super FileSystem> action) {
+        FileSystem node;
+        if (head != null) {
+            node = head;
+            head = null;
+        } else {
+            if (current == null || !current.hasNext()) {
+                if (from == to) {
+                    return false;
+                }
+                current = new DepthFirstIterator(roots.get(from++));
+            }
+            node = current.next();
+        }
+        if (estimate > 0) {
+            estimate--;
+        }
+        action.accept(node);
+        return true;
+    }
+
+    @Override
+    public Spliterator<FileSystem> trySplit() {
+        if (head == null && current == null && to - from == 1) {
+            // Open up a lone directory: the directory becomes the head, its children the range
+            FileSystem root = roots.get(from);
+            List<FileSystem> children = FileSystemStreams.childrenOf(root);
+            if (children.size() < 2) {
+                return null;
+            }
+            head = root;
+            roots = children;
+            from = 0;
+            to = children.size();
+        }
+        if (to - from < 2) {
+            return null;
+        }
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += weight(roots.get(i));
+        }
+        // Smallest prefix holding at least half of the weight, leaving one root for this side
+        int mid = from;
+        long prefixWeight = 0;
+        while (mid < to - 1 && prefixWeight * 2 < total) {
+            prefixWeight += weight(roots.get(mid++));
+        }
+        FileSystemSpliterator prefix = new FileSystemSpliterator(head, current, roots, from, mid,
+                prefixWeight + (head != null ? 1 : 0));
+        head = null;
+        current = null;
+        from = mid;
+        estimate = total - prefixWeight;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    // Node count of a subtree, including its root. Exact for Directory trees; other composites
+    // (such as compact tree cursors) only track files, so their directories are not counted.
+    static long weight(FileSystem node) {
+        if (node instanceof Directory) {
+            return ((Directory) node).getNodeCount() + 1;
+        }
+        return node.getFileCount() + (FileSystemStreams.isDirectory(node) ? 1 : 0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.company.composite;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Non-recursive iteration and streams over FileSystem trees
+final class FileSystemStreams {
+    private FileSystemStreams() {
+    }
+
+    public static Iterator<FileSystem> depthFirst(FileSystem root) {
+        return new DepthFirstIterator(root);
+    }
+
+    public static Iterator<FileSystem> breadthFirst(FileSystem root) {
+        return new BreadthFirstIterator(root);
+    }
+
+    // Pre-order stream of every node; with parallel = true the tree is split across the common pool
+    public static Stream<FileSystem> stream(FileSystem root, boolean parallel) {
+        return StreamSupport.stream(new FileSystemSpliterator(root), parallel);
+    }
+
+    // Composites that are not Directory subclasses (compact tree cursors) are recognized here,
+    // so every traversal treats them the same way
+    static boolean isDirectory(FileSystem node) {
+        if (node instanceof CompactFileTree.NodeView) {
+            return ((CompactFileTree.NodeView) node).isDirectory();
+        }
+        return node instanceof Directory;
+    }
+
+    static List<FileSystem> childrenOf(FileSystem node) {
+        if (node instanceof Directory) {
+            return ((Directory) node).getContents();
+        }
+        if (node instanceof CompactFileTree.NodeView) {
+            return ((CompactFileTree.NodeView) node).getContents();
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,300 @@
+package com.company.composite;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Parallel pre-order traversal of a FileSystem tree on a fork/join pool.
+// Work is split at directories whose subtree holds more than `splitThreshold` nodes;
+// smaller subtrees are walked sequentially in batches of about that size. Partial results are combined in tree order,
+// so ordered operations (filter, print) give the same output as a sequential walk.
+// Sequential parts walk with an explicit stack, and directories more than MAX_SPLIT_DEPTH levels
+// down are not split further, so deep trees cannot overflow the stack.
+class FileSystemTraversal {
+    private static final int MAX_SPLIT_DEPTH = 64;
+    // Characters buffered by print before they are written to the sink
+    private static final int PRINT_FLUSH_THRESHOLD = 8192;
+
+    // Receives each node with its depth below the traversal root
+    interface NodeAccumulator<A> {
+        void accept(A container, FileSystem node, int depth);
+    }
+
+    private final ForkJoinPool pool;
+    private final long splitThreshold;
+
+    public FileSystemTraversal() {
+        this(ForkJoinPool.commonPool(), 10_000);
+    }
+
+    public FileSystemTraversal(ForkJoinPool pool, long splitThreshold) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("splitThreshold must be at least 1");
+        }
+        this.pool = pool;
+        this.splitThreshold = splitThreshold;
+    }
+
+    // Generic ordered reduction: each task fills its own container, containers are merged in tree order
+    public <A> A collect(FileSystem root, Supplier<A> supplier, NodeAccumulator<A> accumulator,
+                         BinaryOperator<A> combiner) {
+        return pool.invoke(new SubtreeTask<>(Collections.singletonList(root), 0, 1, 0, false,
+                supplier, accumulator, combiner));
+    }
+
+    public long count(FileSystem root, Predicate<FileSystem> predicate) {
+        return collect(root, () -> new long[1],
+                (total, node, depth) -> {
+                    if (predicate.test(node)) {
+                        total[0]++;
+                    }
+                },
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                })[0];
+    }
+
+    public List<FileSystem> filter(FileSystem root, Predicate<FileSystem> predicate) {
+        return collect(root, ArrayList::new,
+                (matches, node, depth) -> {
+                    if (predicate.test(node)) {
+                        matches.add(node);
+                    }
+                },
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                });
+    }
+
+    // Map every file (leaf) and fold the results with an associative reducer
+    public <R> R mapReduceFiles(FileSystem root, Function<File, R> mapper, BinaryOperator<R> reducer, R identity) {
+        List<R> result = collect(root, () -> {
+                    List<R> holder = new ArrayList<>(1);
+                    holder.add(identity);
+                    return holder;
+                },
+                (holder, node, depth) -> {
+                    if (node instanceof File) {
+                        holder.set(0, reducer.apply(holder.get(0), mapper.apply((File) node)));
+                    }
+                },
+                (left, right) -> {
+                    left.set(0, reducer.apply(left.get(0), right.get(0)));
+                    return left;
+                });
+        return result.get(0);
+    }
+
+    // Indented listing of the tree, streamed to the sink in tree order. Batches of roughly
+    // splitThreshold nodes are rendered in parallel; at most a small window of rendered batches
+    // waits for the sink at any time, so memory does not grow with the size of the tree.
+    public void print(FileSystem root, Appendable sink) {
+        int window = Math.max(2, pool.getParallelism() * 2);
+        ArrayDeque<ForkJoinTask<StringBuilder>> rendering = new ArrayDeque<>();
+        List<PrintEntry> batch = new ArrayList<>();
+        long batchWeight = 0;
+        // Large directories are expanded here, one line at a time; everything else is a whole
+        // subtree rendered by a batch task
+        ArrayDeque<Iterator<FileSystem>> stack = new ArrayDeque<>();
+        Iterator<FileSystem> level = Collections.singletonList(root).iterator();
+        while (level != null) {
+            if (!level.hasNext()) {
+                level = stack.poll();
+                continue;
+            }
+            FileSystem node = level.next();
+            int depth = stack.size();
+            long weight = FileSystemSpliterator.weight(node);
+            boolean expand = FileSystemStreams.isDirectory(node) && weight > splitThreshold;
+            batch.add(new PrintEntry(node, depth, !expand));
+            batchWeight += expand ? 1 : weight;
+            if (batchWeight >= splitThreshold) {
+                submitPrintBatch(batch, rendering, window, sink);
+                batch = new ArrayList<>();
+                batchWeight = 0;
+            }
+            if (expand) {
+                stack.push(level);
+                level = FileSystemStreams.childrenOf(node).iterator();
+            }
+        }
+        if (!batch.isEmpty()) {
+            submitPrintBatch(batch, rendering, window, sink);
+        }
+        while (!rendering.isEmpty()) {
+            write(sink, rendering.poll().join());
+        }
+    }
+
+    private void submitPrintBatch(List<PrintEntry> batch, ArrayDeque<ForkJoinTask<StringBuilder>> rendering,
+                                  int window, Appendable sink) {
+        rendering.add(pool.submit(() -> {
+            StringBuilder text = new StringBuilder();
+            for (PrintEntry entry : batch) {
+                if (entry.subtree) {
+                    walk(text, entry.node, entry.depth, FileSystemTraversal::appendLine);
+                } else {
+                    appendLine(text, entry.node, entry.depth);
+                }
+            }
+            return text;
+        }));
+        if (rendering.size() > window) {
+            write(sink, rendering.poll().join());
+        }
+    }
+
+    private static void write(Appendable sink, StringBuilder text) {
+        try {
+            for (int start = 0; start < text.length(); start += PRINT_FLUSH_THRESHOLD) {
+                sink.append(text, start, Math.min(text.length(), start + PRINT_FLUSH_THRESHOLD));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void appendLine(StringBuilder buffer, FileSystem node, int depth) {
+        for (int i = 0; i < depth; i++) {
+            buffer.append("  ");
+        }
+        buffer.append(FileSystemStreams.isDirectory(node) ? "Directory: " : "File: ").append(node.getName()).append('\n');
+    }
+
+    // Pre-order walk of one subtree with an explicit stack of child iterators
+    private static <A> void walk(A container, FileSystem root, int rootDepth, NodeAccumulator<A> accumulator) {
+        accumulator.accept(container, root, rootDepth);
+        if (!FileSystemStreams.isDirectory(root)) {
+            return;
+        }
+        ArrayDeque<Iterator<FileSystem>> stack = new ArrayDeque<>();
+        stack.push(FileSystemStreams.childrenOf(root).iterator());
+        while (!stack.isEmpty()) {
+            Iterator<FileSystem> children = stack.peek();
+            if (!children.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            FileSystem child = children.next();
+            accumulator.accept(container, child, rootDepth + stack.size());
+            if (FileSystemStreams.isDirectory(child)) {
+                stack.push(FileSystemStreams.childrenOf(child).iterator());
+            }
+        }
+    }
+
+    // A node in a print batch: either just its own line or its whole subtree
+    private static final class PrintEntry {
+        final FileSystem node;
+        final int depth;
+        final boolean subtree;
+
+        PrintEntry(FileSystem node, int depth, boolean subtree) {
+            this.node = node;
+            this.depth = depth;
+            this.subtree = subtree;
+        }
+    }
+
+    // Processes nodes[from, to) at the given depth. Large directories become their own tasks and
+    // runs of small siblings are batched into sequential tasks of roughly splitThreshold files.
+    private class SubtreeTask<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<FileSystem> nodes;
+        private final int from;
+        private final int to;
+        private final int depth;
+        private final boolean sequential;
+        private final Supplier<A> supplier;
+        private final NodeAccumulator<A> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        SubtreeTask(List<FileSystem> nodes, int from, int to, int depth, boolean sequential,
+                    Supplier<A> supplier, NodeAccumulator<A> accumulator, BinaryOperator<A> combiner) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.sequential = sequential;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            A current = supplier.get();
+            if (sequential || depth >= MAX_SPLIT_DEPTH) {
+                walkRange(current, from, to);
+                return current;
+            }
+            // Segments alternate between locally accumulated containers and forked tasks, in tree order
+            List<Object> segments = new ArrayList<>();
+            int pendingStart = from;
+            long pendingWeight = 0;
+            for (int i = from; i < to; i++) {
+                FileSystem node = nodes.get(i);
+                long weight = FileSystemSpliterator.weight(node);
+                if (FileSystemStreams.isDirectory(node) && weight > splitThreshold) {
+                    walkRange(current, pendingStart, i);
+                    accumulator.accept(current, node, depth);
+                    List<FileSystem> children = FileSystemStreams.childrenOf(node);
+                    segments.add(current);
+                    segments.add(fork(children, 0, children.size(), depth + 1, false));
+                    current = supplier.get();
+                    pendingStart = i + 1;
+                    pendingWeight = 0;
+                } else {
+                    pendingWeight += weight;
+                    if (pendingWeight >= splitThreshold) {
+                        segments.add(current);
+                        segments.add(fork(nodes, pendingStart, i + 1, depth, true));
+                        current = supplier.get();
+                        pendingStart = i + 1;
+                        pendingWeight = 0;
+                    }
+                }
+            }
+            walkRange(current, pendingStart, to);
+            if (segments.isEmpty()) {
+                return current;
+            }
+            segments.add(current);
+            A result = null;
+            for (Object segment : segments) {
+                @SuppressWarnings("unchecked")
+                A part = segment instanceof SubtreeTask ? ((SubtreeTask<A>) segment).join() : (A) segment;
+                result = result == null ? part : combiner.apply(result, part);
+            }
+            return result;
+        }
+
+        private SubtreeTask<A> fork(List<FileSystem> range, int rangeFrom, int rangeTo, int rangeDepth,
+                                    boolean sequentialRange) {
+            SubtreeTask<A> task = new SubtreeTask<>(range, rangeFrom, rangeTo, rangeDepth, sequentialRange,
+                    supplier, accumulator, combiner);
+            task.fork();
+            return task;
+        }
+
+        private void walkRange(A container, int rangeFrom, int rangeTo) {
+            for (int i = rangeFrom; i < rangeTo; i++) {
+                walk(container, nodes.get(i), depth, accumulator);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.composite;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Enumerates a real directory tree with Files.walk and with the lazy DiskDirectory view.
+// Pass a path to scan an existing tree; otherwise a synthetic tree is created in a temp directory.
+// "Cold" is the first enumeration through a fresh view, "warm" repeats it on the already expanded tree.
+public class LazyDiskTreeBenchmark {
+    public static void main(String[] args) throws IOException {
+        boolean synthetic = args.length == 0;
+        Path root = synthetic ? createTree(200, 100) : Paths.get(args[0]);
+        try {
+            run(root);
+        } finally {
+            if (synthetic) {
+                delete(root);
+            }
+        }
+    }
+
+    private static void run(Path root) throws IOException {
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+
+            long start = System.nanoTime();
+            long walked;
+            try (Stream<Path> paths = Files.walk(root)) {
+                walked = paths.filter(Files::isRegularFile).count();
+            }
+            long walkNanos = System.nanoTime() - start;
+
+            long[] plain = enumerate(new DiskFileSystemView(), root);
+            long[] prefetching = enumerate(new DiskFileSystemView(2, 8, 256), root);
+
+            if (report) {
+                System.out.println("Files.walk:                 " + walkNanos / 1_000_000 + " ms (" + walked + " files)");
+                System.out.println("Lazy view cold:             " + plain[0] / 1_000_000 + " ms, warm "
+                        + plain[1] / 1_000 + " us (" + plain[2] + " files)");
+                System.out.println("Lazy view + prefetch cold:  " + prefetching[0] / 1_000_000 + " ms, warm "
+                        + prefetching[1] / 1_000 + " us (" + prefetching[2] + " files)");
+            }
+        }
+    }
+
+    // Returns {cold nanos, warm nanos, file count}
+    private static long[] enumerate(DiskFileSystemView view, Path root) {
+        try (DiskFileSystemView closing = view) {
+            Directory directory = closing.open(root);
+            long start = System.nanoTime();
+            long files = countFiles(directory);
+            long cold = System.nanoTime() - start;
+            start = System.nanoTime();
+            countFiles(directory);
+            long warm = System.nanoTime() - start;
+            return new long[]{cold, warm, files};
+        }
+    }
+
+    // Depth-first walk through getContents, the way a browsing client expands the tree
+    private static long countFiles(Directory directory) {
+        long files = 0;
+        for (FileSystem child : directory.getContents()) {
+            files += child instanceof Directory ? countFiles((Directory) child) : 1;
+        }
+        return files;
+    }
+
+    private static Path createTree(int directories, int filesPerDirectory) throws IOException {
+        Path root = Files.createTempDirectory("composite-bench");
+        for (int d = 0; d < directories; d++) {
+            Path directory = Files.createDirectories(root.resolve("dir" + d / 20).resolve("sub" + d));
+            for (int f = 0; f < filesPerDirectory; f++) {
+                Files.write(directory.resolve("file" + f + ".txt"), new byte[f % 64]);
+            }
+        }
+        return root;
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.company.composite;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Deduplicated store of names as UTF-8 bytes in one shared array.
+// Each distinct name is stored once and referred to by an int id; the hash table holds ids only,
+// so no String objects are kept alive for stored names.
+final class NamePool {
+    private byte[] bytes = new byte[1024];
+    private int used;
+    private int[] offsets = new int[64]; // name id -> start in bytes; the end is the next start
+    private int count;
+    private int[] table = new int[128];  // open addressing, id + 1 (0 = empty)
+
+    // Id for the name, adding it if it is new
+    public int intern(String name) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        int slot = find(encoded);
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+        if ((count + 1) * 2 > table.length) {
+            rehash();
+            slot = find(encoded);
+        }
+        if (used + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, used + encoded.length));
+        }
+        if (count + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        System.arraycopy(encoded, 0, bytes, used, encoded.length);
+        offsets[count] = used;
+        used += encoded.length;
+        offsets[count + 1] = used;
+        table[slot] = ++count;
+        return count - 1;
+    }
+
+    // Id for the name, or -1 if it was never interned
+    public int lookup(String name) {
+        int id = table[find(name.getBytes(StandardCharsets.UTF_8))];
+        return id - 1;
+    }
+
+    public String get(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long byteSize() {
+        return bytes.length + 4L * offsets.length + 4L * table.length;
+    }
+
+    private int find(byte[] name) {
+        int mask = table.length - 1;
+        int slot = hash(name, 0, name.length) & mask;
+        while (table[slot] != 0 && !matches(table[slot] - 1, name)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean matches(int id, byte[] name) {
+        int start = offsets[id];
+        int length = offsets[id + 1] - start;
+        if (length != name.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < count; id++) {
+            int slot = hash(bytes, offsets[id], offsets[id + 1] - offsets[id]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    private static int hash(byte[] data, int start, int length) {
+        int h = 0x811C9DC5; // FNV-1a
+        for (int i = start; i < start + length; i++) {
+            h = (h ^ data[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
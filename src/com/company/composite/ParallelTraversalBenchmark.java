@@ -0,0 +1,49 @@
+package com.company.composite;
+
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+
+// Fork/join traversal on a wide tree with 1..N worker threads, compared with a single-threaded run
+public class ParallelTraversalBenchmark {
+    public static void main(String[] args) {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        Directory root = new Directory("Root");
+        for (int d = 0, created = 0; created < files; d++) {
+            Directory directory = new Directory("Dir" + d);
+            for (int s = 0; s < 10 && created < files; s++) {
+                Directory sub = new Directory("Sub" + s);
+                for (int f = 0; f < 100 && created < files; f++, created++) {
+                    sub.add(new File("File" + created + (created % 7 == 0 ? ".log" : ".txt"), created % 4096));
+                }
+                directory.add(sub);
+            }
+            root.add(directory);
+        }
+        System.out.println(files + " files, " + Runtime.getRuntime().availableProcessors() + " cores available");
+
+        long baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            FileSystemTraversal traversal = new FileSystemTraversal(pool, 10_000);
+            long best = Long.MAX_VALUE;
+            long checksum = 0;
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                checksum = traversal.count(root, node -> node.getName().endsWith(".log"))
+                        + traversal.mapReduceFiles(root, File::getSize, Long::sum, 0L)
+                        + traversal.filter(root, node -> node.getSize() > 4000).size();
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            StringWriter printed = new StringWriter();
+            traversal.print(root, printed);
+            pool.shutdown();
+            if (threads == 1) {
+                baseline = best;
+            }
+            System.out.printf("%2d threads: %6d ms, speedup %.2fx (checksum %d, %d chars printed)%n",
+                    threads, best / 1_000_000, (double) baseline / best, checksum, printed.getBuffer().length());
+        }
+    }
+}
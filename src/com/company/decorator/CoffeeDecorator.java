@@ -2,19 +2,38 @@ package com.company.decorator;
 
 public abstract class CoffeeDecorator implements Coffee {
     protected Coffee decoratedCoffee;
+    // What this layer adds; decorators built with the single-argument constructor add nothing here
+    // and override getDescription/getCost instead
+    private final String addition;
+    private final double additionalCost;
 
     public CoffeeDecorator(Coffee coffee) {
+        this(coffee, null, 0);
+    }
+
+    protected CoffeeDecorator(Coffee coffee, String addition, double additionalCost) {
         this.decoratedCoffee = coffee;
+        this.addition = addition;
+        this.additionalCost = additionalCost;
+    }
+
+    // Final so that the nested chain and CompiledCoffee always see the same values
+    protected final String getAddition() {
+        return addition;
+    }
+
+    protected final double getAdditionalCost() {
+        return additionalCost;
     }
 
     @Override
     public String getDescription() {
-        return decoratedCoffee.getDescription();
+        String description = decoratedCoffee.getDescription();
+        return addition == null ? description : description + ", " + addition;
     }
 
     @Override
     public double getCost() {
-        return decoratedCoffee.getCost();
+        return decoratedCoffee.getCost() + additionalCost;
     }
 }
-
@@ -17,6 +17,10 @@ public class CoffeeShop {
         // Add whip to the coffee with milk and sugar
         coffee = new WhipDecorator(coffee);
         System.out.println(coffee.getDescription() + " $" + coffee.getCost());
+
+        // Compile the finished order so pricing and display no longer walk the decorators
+        Coffee compiled = CompiledCoffee.compile(coffee);
+        System.out.println(compiled.getDescription() + " $" + compiled.getCost());
     }
 }
 
@@ -0,0 +1,115 @@
+package com.company.decorator;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// A decorator stack flattened into one immutable Coffee whose description and cost are
+// computed once. compile walks the wrapped chain in a loop, appends every layer's addition
+// to one StringBuilder and adds up the costs in the same order as the nested getCost calls,
+// so the result matches the original chain exactly. Compiled coffees are interned:
+// identical compositions share one instance. The intern table only holds them weakly, so a
+// composition nobody references any more is dropped instead of kept forever.
+public final class CompiledCoffee implements Coffee {
+    // Guarded by itself; keys and values are both weak, so entries vanish with their coffee
+    private static final Map<CompiledCoffee, WeakReference<CompiledCoffee>> INTERNED = new WeakHashMap<>();
+
+    // Decorators can be flattened only if they rely on CoffeeDecorator's getDescription/getCost
+    private static final ClassValue<Boolean> FLATTENABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getDescription").getDeclaringClass() == CoffeeDecorator.class
+                        && type.getMethod("getCost").getDeclaringClass() == CoffeeDecorator.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final String description;
+    private final double cost;
+    private final int hash;
+
+    private CompiledCoffee(String description, double cost) {
+        this.description = description;
+        this.cost = cost;
+        this.hash = description.hashCode() * 31 + Double.hashCode(cost);
+    }
+
+    public static CompiledCoffee compile(Coffee coffee) {
+        if (coffee instanceof CompiledCoffee) {
+            return (CompiledCoffee) coffee;
+        }
+        // Outermost layer first; stops at the first Coffee that is not a flattenable decorator
+        List<CoffeeDecorator> layers = new ArrayList<>();
+        Coffee base = coffee;
+        while (base instanceof CoffeeDecorator && FLATTENABLE.get(base.getClass())) {
+            CoffeeDecorator layer = (CoffeeDecorator) base;
+            layers.add(layer);
+            base = layer.decoratedCoffee;
+        }
+
+        String baseDescription = base.getDescription();
+        int length = baseDescription.length();
+        for (CoffeeDecorator layer : layers) {
+            if (layer.getAddition() != null) {
+                length += 2 + layer.getAddition().length();
+            }
+        }
+        StringBuilder description = new StringBuilder(length).append(baseDescription);
+        double cost = base.getCost();
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            CoffeeDecorator layer = layers.get(i);
+            if (layer.getAddition() != null) {
+                description.append(", ").append(layer.getAddition());
+            }
+            cost += layer.getAdditionalCost();
+        }
+        return intern(new CompiledCoffee(description.toString(), cost));
+    }
+
+    private static CompiledCoffee intern(CompiledCoffee coffee) {
+        synchronized (INTERNED) {
+            WeakReference<CompiledCoffee> reference = INTERNED.get(coffee);
+            CompiledCoffee existing = reference != null ? reference.get() : null;
+            if (existing != null) {
+                return existing;
+            }
+            INTERNED.put(coffee, new WeakReference<>(coffee));
+            return coffee;
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CompiledCoffee)) {
+            return false;
+        }
+        CompiledCoffee coffee = (CompiledCoffee) other;
+        return hash == coffee.hash && Double.compare(cost, coffee.cost) == 0
+                && description.equals(coffee.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return description + " $" + cost;
+    }
+}
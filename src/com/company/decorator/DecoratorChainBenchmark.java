@@ -0,0 +1,76 @@
+package com.company.decorator;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+// Pricing and describing decorator chains of increasing depth: nested decorators vs CompiledCoffee.
+// Argument: calls per depth (default 200000).
+public class DecoratorChainBenchmark {
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Random random = new Random(31);
+        for (int depth : new int[]{1, 4, 16, 64, 256}) {
+            Coffee decorated = new SimpleCoffee();
+            for (int i = 0; i < depth; i++) {
+                int kind = random.nextInt(3);
+                decorated = kind == 0 ? new MilkDecorator(decorated)
+                        : kind == 1 ? new SugarDecorator(decorated) : new WhipDecorator(decorated);
+            }
+
+            long start = System.nanoTime();
+            CompiledCoffee compiled = CompiledCoffee.compile(decorated);
+            long compileNanos = System.nanoTime() - start;
+            if (compiled.getCost() != decorated.getCost()
+                    || !compiled.getDescription().equals(decorated.getDescription())) {
+                throw new IllegalStateException("Compiled coffee differs from its decorator chain");
+            }
+
+            // Scale the decorated runs down for deep chains; they cost O(depth^2) per description
+            int decoratedCalls = (int) Math.max(1_000, calls / Math.max(1L, depth * depth / 64));
+            double decoratedNanos = 0;
+            double compiledNanos = 0;
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                long checksum = 0;
+                for (int i = 0; i < decoratedCalls; i++) {
+                    checksum += (long) decorated.getCost() + decorated.getDescription().length();
+                }
+                decoratedNanos = (System.nanoTime() - start) / (double) decoratedCalls;
+
+                start = System.nanoTime();
+                for (int i = 0; i < calls; i++) {
+                    checksum -= (long) compiled.getCost() + compiled.getDescription().length();
+                }
+                compiledNanos = (System.nanoTime() - start) / (double) calls;
+                if (checksum != (long) (compiled.getCost() + compiled.getDescription().length())
+                        * (decoratedCalls - calls)) {
+                    throw new IllegalStateException("Checksum mismatch");
+                }
+            }
+
+            // Interning: compiling the same composition again returns the shared instance
+            boolean shared = CompiledCoffee.compile(rebuild(decorated)) == compiled;
+            System.out.println("Depth " + depth + ": decorated " + String.format("%.1f", decoratedNanos)
+                    + " ns, compiled " + String.format("%.1f", compiledNanos) + " ns per getCost+getDescription (compile " + compileNanos / 1_000
+                    + " us, identical order interned: " + shared + ")");
+        }
+    }
+
+    // A new, separately built decorator stack with the same layers
+    private static Coffee rebuild(Coffee coffee) {
+        if (!(coffee instanceof CoffeeDecorator)) {
+            return new SimpleCoffee();
+        }
+        ArrayDeque<Class<?>> layers = new ArrayDeque<>();
+        while (coffee instanceof CoffeeDecorator) {
+            layers.push(coffee.getClass());
+            coffee = ((CoffeeDecorator) coffee).decoratedCoffee;
+        }
+        Coffee rebuilt = new SimpleCoffee();
+        for (Class<?> layer : layers) {
+            rebuilt = layer == MilkDecorator.class ? new MilkDecorator(rebuilt)
+                    : layer == SugarDecorator.class ? new SugarDecorator(rebuilt) : new WhipDecorator(rebuilt);
+        }
+        return rebuilt;
+    }
+}
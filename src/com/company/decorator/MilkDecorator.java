@@ -2,17 +2,6 @@ package com.company.decorator;
 
 public class MilkDecorator extends CoffeeDecorator {
     public MilkDecorator(Coffee coffee) {
-        super(coffee);
-    }
-
-    @Override
-    public String getDescription() {
-        return decoratedCoffee.getDescription() + ", Milk";
-    }
-
-    @Override
-    public double getCost() {
-        return decoratedCoffee.getCost() + 1.5;
+        super(coffee, "Milk", 1.5);
     }
 }
-
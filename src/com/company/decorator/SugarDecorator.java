@@ -2,17 +2,6 @@ package com.company.decorator;
 
 public class SugarDecorator extends CoffeeDecorator {
     public SugarDecorator(Coffee coffee) {
-        super(coffee);
-    }
-
-    @Override
-    public String getDescription() {
-        return decoratedCoffee.getDescription() + ", Sugar";
-    }
-
-    @Override
-    public double getCost() {
-        return decoratedCoffee.getCost() + 0.5;
+        super(coffee, "Sugar", 0.5);
     }
 }
-
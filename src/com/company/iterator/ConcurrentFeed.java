@@ -0,0 +1,97 @@
+package com.company.iterator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Append-only feed that many threads can post to and read from at the same time.
+// Items live in fixed-size segments that are never moved or copied. A writer makes sure the segment
+// for the next slot exists, claims the slot by CAS on `claimed` and then stores its item; writers
+// never wait for each other. Nothing that can fail runs between the claim and the store, so a
+// claimed slot is always filled.
+// An iterator reads `claimed` once when it is created and walks the segments up to that point.
+// If it reaches a slot whose writer has claimed it but not stored the item yet, it waits for
+// that one slot, so every snapshot is gap-free. Readers are therefore not lock-free: a reader
+// can be held up by a writer that was descheduled between its claim and its store.
+class ConcurrentFeed<T> implements SocialMediaFeed<T> {
+    private static final int SEGMENT_BITS = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<T>> segments;
+    private final int capacity;
+    private final AtomicInteger claimed = new AtomicInteger();
+
+    // Room for 64M items
+    public ConcurrentFeed() {
+        this(1 << 16);
+    }
+
+    public ConcurrentFeed(int maxSegments) {
+        this.segments = new AtomicReferenceArray<>(maxSegments);
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, (long) maxSegments * SEGMENT_SIZE);
+    }
+
+    public void addItem(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("item must not be null");
+        }
+        int index;
+        AtomicReferenceArray<T> segment;
+        do {
+            index = claimed.get();
+            if (index == capacity) {
+                throw new IllegalStateException("Feed is full");
+            }
+            // Create the segment before claiming, so an allocation failure leaves no claimed, empty slot
+            int segmentIndex = index >>> SEGMENT_BITS;
+            segment = segments.get(segmentIndex);
+            if (segment == null) {
+                segments.compareAndSet(segmentIndex, null, new AtomicReferenceArray<>(SEGMENT_SIZE));
+                segment = segments.get(segmentIndex);
+            }
+        } while (!claimed.compareAndSet(index, index + 1));
+        segment.set(index & SEGMENT_MASK, item);
+    }
+
+    // Number of items visible to new iterators (some may still be in the middle of being stored)
+    public int size() {
+        return claimed.get();
+    }
+
+    // Iterator over the items posted so far; later posts are not seen by it
+    @Override
+    public Iterator<T> createIterator() {
+        return new SnapshotIterator(claimed.get());
+    }
+
+    private class SnapshotIterator implements Iterator<T> {
+        private final int end;
+        private int position = 0;
+        private AtomicReferenceArray<T> segment;
+
+        SnapshotIterator(int end) {
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                return null;
+            }
+            if ((position & SEGMENT_MASK) == 0 || segment == null) {
+                segment = segments.get(position >>> SEGMENT_BITS); // created before its first slot was claimed
+            }
+            T item;
+            while ((item = segment.get(position & SEGMENT_MASK)) == null) {
+                Thread.yield(); // claimed but not stored yet
+            }
+            position++;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Many writers posting while many readers iterate snapshots, ConcurrentFeed vs a lock-protected
+// ArrayList that readers copy under the lock. Readers also check that every snapshot is
+// gap-free and in per-writer order.
+// Arguments: writers, readers, seconds (defaults 4, 4, 2).
+public class ConcurrentFeedBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        System.out.println(writers + " writers, " + readers + " readers, " + seconds + " s");
+        run("ConcurrentFeed", new ConcurrentFeed<>(), writers, readers, seconds);
+        run("Locked ArrayList", new LockedFeed(), writers, readers, seconds);
+    }
+
+    private static void run(String label, SocialMediaFeed<long[]> feed, int writers, int readers, int seconds)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong written = new AtomicLong();
+        AtomicLong read = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(writers + readers);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            final long writer = w;
+            threads.add(new Thread(() -> {
+                long sequence = 0;
+                while (running.get()) {
+                    add(feed, new long[]{writer, sequence++});
+                }
+                written.addAndGet(sequence);
+                done.countDown();
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            threads.add(new Thread(() -> {
+                long items = 0;
+                while (running.get()) {
+                    long[] lastSeen = new long[writers];
+                    Arrays.fill(lastSeen, -1);
+                    Iterator<long[]> iterator = feed.createIterator();
+                    while (iterator.hasNext()) {
+                        long[] item = iterator.next();
+                        if (item == null) {
+                            throw new IllegalStateException("Gap in snapshot");
+                        }
+                        int writer = (int) item[0];
+                        if (item[1] <= lastSeen[writer]) {
+                            throw new IllegalStateException("Out of order item");
+                        }
+                        lastSeen[writer] = item[1];
+                        items++;
+                    }
+                }
+                read.addAndGet(items);
+                done.countDown();
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        System.out.println(label + ": " + written.get() / seconds + " writes/s, "
+                + read.get() / seconds + " items read/s");
+    }
+
+    private static void add(SocialMediaFeed<long[]> feed, long[] item) {
+        if (feed instanceof ConcurrentFeed) {
+            ((ConcurrentFeed<long[]>) feed).addItem(item);
+        } else {
+            ((LockedFeed) feed).addItem(item);
+        }
+    }
+
+    // Baseline: every post takes the lock, every iterator copies the list under the lock
+    private static class LockedFeed implements SocialMediaFeed<long[]> {
+        private final List<long[]> items = new ArrayList<>();
+
+        synchronized void addItem(long[] item) {
+            items.add(item);
+        }
+
+        @Override
+        public synchronized Iterator<long[]> createIterator() {
+            List<long[]> snapshot = new ArrayList<>(items);
+            return new Iterator<long[]>() {
+                private int position = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return position < snapshot.size();
+                }
+
+                @Override
+                public long[] next() {
+                    return hasNext() ? snapshot.get(position++) : null;
+                }
+            };
+        }
+    }
+}
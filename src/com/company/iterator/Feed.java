@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 // Concrete implementation of the SocialMediaFeed
-class Feed implements SocialMediaFeed {
+class Feed implements SocialMediaFeed<String> {
     private List<String> items;
 
     public Feed() {
@@ -16,7 +16,7 @@ class Feed implements SocialMediaFeed {
     }
 
     @Override
-    public Iterator createIterator() {
+    public Iterator<String> createIterator() {
         return new FeedIterator(items);
     }
 }
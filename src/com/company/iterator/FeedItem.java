@@ -0,0 +1,25 @@
+package com.company.iterator;
+
+// Feed entry with the time it was posted
+class FeedItem {
+    private final long timestamp;
+    private final String content;
+
+    public FeedItem(long timestamp, String content) {
+        this.timestamp = timestamp;
+        this.content = content;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    @Override
+    public String toString() {
+        return timestamp + ": " + content;
+    }
+}
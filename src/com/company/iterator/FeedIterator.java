@@ -3,7 +3,7 @@ package com.company.iterator;
 import java.util.List;
 
 // Concrete implementation of the Iterator
-class FeedIterator implements Iterator {
+class FeedIterator implements Iterator<String> {
     private List<String> items;
     private int position = 0;
 
@@ -17,7 +17,7 @@ class FeedIterator implements Iterator {
     }
 
     @Override
-    public Object next() {
+    public String next() {
         if (this.hasNext()) {
             return items.get(position++);
         }
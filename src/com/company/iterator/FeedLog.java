@@ -0,0 +1,222 @@
+package com.company.iterator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Persistent feed stored as rolling append-only segment files named after their first offset.
+// Every post gets a sequential offset; timestamps must not go backwards, which lets the
+// sparse per-segment indexes answer both seek-to-offset and seek-to-timestamp.
+// Appends are single-writer (synchronized); cursors read a snapshot through memory mappings.
+class FeedLog implements SocialMediaFeed<FeedItem>, AutoCloseable {
+    private final Path directory;
+    private final long segmentBytes;
+    private final int indexIntervalBytes;
+    private final List<FeedLogSegment> segments = new ArrayList<>();
+    private long nextOffset;
+    // Newest timestamp in the whole log; the active segment alone may be empty after a roll or recovery
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    public FeedLog(Path directory) throws IOException {
+        this(directory, 64L * 1024 * 1024, 4 * 1024);
+    }
+
+    public FeedLog(Path directory, long segmentBytes, int indexIntervalBytes) throws IOException {
+        if (segmentBytes < 1 || segmentBytes > FeedLogSegment.MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("segmentBytes must be between 1 and "
+                    + FeedLogSegment.MAX_SEGMENT_BYTES);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.indexIntervalBytes = indexIntervalBytes;
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.log")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files); // zero-padded names sort by base offset
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long baseOffset = Long.parseLong(name.substring(0, name.length() - ".log".length()));
+            FeedLogSegment segment = new FeedLogSegment(file, baseOffset, indexIntervalBytes);
+            segments.add(segment);
+            if (segment.getCount() > 0) {
+                lastTimestamp = segment.getLastTimestamp();
+            }
+        }
+        if (segments.isEmpty()) {
+            roll(0);
+        }
+        FeedLogSegment last = active();
+        nextOffset = last.getBaseOffset() + last.getCount();
+    }
+
+    // Append a post and return its offset
+    public synchronized long append(long timestamp, String content) throws IOException {
+        if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Timestamps must not go backwards");
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (active().getSize() > 0 && active().getSize() + FeedLogSegment.HEADER_BYTES + bytes.length > segmentBytes) {
+            roll(nextOffset);
+        }
+        active().append(timestamp, bytes);
+        lastTimestamp = timestamp;
+        return nextOffset++;
+    }
+
+    public synchronized void flush() throws IOException {
+        active().flush();
+    }
+
+    // Cursor over everything currently retained
+    public synchronized FeedLogCursor cursor() {
+        return cursorAtOffset(firstOffset());
+    }
+
+    // Cursor positioned so that the first next() returns the item at `offset` (or the first retained one)
+    public synchronized FeedLogCursor cursorAtOffset(long offset) {
+        int segment = segments.size() - 1;
+        while (segment > 0 && segments.get(segment).getBaseOffset() > offset) {
+            segment--;
+        }
+        int entry = segments.get(segment).floorEntryForOffset(offset);
+        FeedLogCursor cursor = snapshotCursor(segment, entry);
+        skipWhile(cursor, offset, Long.MIN_VALUE);
+        return cursor;
+    }
+
+    // Cursor positioned so that the first next() returns the first item with timestamp >= `timestamp`
+    public synchronized FeedLogCursor cursorAtTimestamp(long timestamp) {
+        int segment = 0;
+        while (segment < segments.size() - 1 && segments.get(segment).getLastTimestamp() < timestamp) {
+            segment++;
+        }
+        int entry = segments.get(segment).floorEntryForTimestamp(timestamp);
+        FeedLogCursor cursor = snapshotCursor(segment, entry);
+        skipWhile(cursor, Long.MIN_VALUE, timestamp);
+        return cursor;
+    }
+
+    // Delete whole segments, oldest first, whose newest post is older than minTimestamp or while the
+    // log is larger than maxTotalBytes. The segment being written is always kept. Existing cursors
+    // keep reading deleted segments through the mappings they already hold.
+    // Returns the number of segments deleted.
+    public synchronized int applyRetention(long minTimestamp, long maxTotalBytes) throws IOException {
+        long total = totalBytes();
+        int deleted = 0;
+        while (segments.size() > 1) {
+            FeedLogSegment oldest = segments.get(0);
+            if (oldest.getLastTimestamp() >= minTimestamp && total <= maxTotalBytes) {
+                break;
+            }
+            total -= oldest.getSize();
+            segments.remove(0);
+            oldest.delete();
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public synchronized long firstOffset() {
+        return segments.get(0).getBaseOffset();
+    }
+
+    public synchronized long nextOffset() {
+        return nextOffset;
+    }
+
+    public synchronized long totalBytes() {
+        long total = 0;
+        for (FeedLogSegment segment : segments) {
+            total += segment.getSize();
+        }
+        return total;
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public Iterator<FeedItem> createIterator() {
+        FeedLogCursor cursor = cursor();
+        return new Iterator<FeedItem>() {
+            private boolean ready;
+            private boolean available;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    available = cursor.next();
+                    ready = true;
+                }
+                return available;
+            }
+
+            @Override
+            public FeedItem next() {
+                if (!this.hasNext()) {
+                    return null;
+                }
+                ready = false;
+                return new FeedItem(cursor.timestamp(), cursor.contentAsString());
+            }
+        };
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (FeedLogSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    // Maps the segments from `segment` on, so the cursor does not depend on them staying open
+    private FeedLogCursor snapshotCursor(int segment, int entry) {
+        int count = segments.size() - segment;
+        ByteBuffer[] views = new ByteBuffer[count];
+        long[] baseOffsets = new long[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                FeedLogSegment snapshot = segments.get(segment + i);
+                views[i] = snapshot.map(snapshot.getSize());
+                baseOffsets[i] = snapshot.getBaseOffset();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        FeedLogSegment start = segments.get(segment);
+        return new FeedLogCursor(views, baseOffsets, 0, start.entryPosition(entry), start.entryOffset(entry));
+    }
+
+    // Advance past items before the target offset / timestamp, leaving the cursor just before the match
+    private static void skipWhile(FeedLogCursor cursor, long offset, long timestamp) {
+        cursor.mark();
+        while (cursor.next()) {
+            if (cursor.offset() >= offset && cursor.timestamp() >= timestamp) {
+                cursor.reset();
+                return;
+            }
+            cursor.mark();
+        }
+    }
+
+    private FeedLogSegment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void roll(long baseOffset) throws IOException {
+        Path file = directory.resolve(String.format("%020d.log", baseOffset));
+        segments.add(new FeedLogSegment(file, baseOffset, indexIntervalBytes));
+    }
+}
@@ -0,0 +1,74 @@
+package com.company.iterator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// Appends posts to a FeedLog in a temp directory, then measures sequential scan throughput
+// through the memory-mapped cursor, seek latency by offset and by timestamp, and retention.
+// Arguments: number of posts (default 5,000,000 of ~100 bytes).
+public class FeedLogBenchmark {
+    public static void main(String[] args) throws IOException {
+        int posts = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Path directory = Files.createTempDirectory("feed-log");
+        try (FeedLog log = new FeedLog(directory, 64L * 1024 * 1024, 4 * 1024)) {
+            String padding = new String(new char[80]).replace('\0', 'x');
+            long start = System.nanoTime();
+            for (int i = 0; i < posts; i++) {
+                log.append(1_000L * i, "Post " + i + " " + padding);
+            }
+            log.flush();
+            long appendNanos = System.nanoTime() - start;
+            System.out.println(posts + " posts, " + log.totalBytes() / (1024 * 1024) + " MB in "
+                    + log.segmentCount() + " segments, append " + appendNanos / posts + " ns/post");
+
+            for (int round = 0; round < 3; round++) {
+                start = System.nanoTime();
+                long bytes = 0;
+                long checksum = 0;
+                FeedLogCursor cursor = log.cursor();
+                while (cursor.next()) {
+                    ByteBuffer content = cursor.content();
+                    bytes += content.remaining() + FeedLogSegment.HEADER_BYTES;
+                    checksum += content.get(content.limit() - 1) + cursor.timestamp();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("Sequential scan: %.2f GB/s (checksum %d)%n", bytes / seconds / 1e9, checksum);
+            }
+
+            Random random = new Random(1);
+            int seeks = 100_000;
+            start = System.nanoTime();
+            for (int i = 0; i < seeks; i++) {
+                long offset = (long) (random.nextDouble() * posts);
+                FeedLogCursor cursor = log.cursorAtOffset(offset);
+                if (!cursor.next() || cursor.offset() != offset) {
+                    throw new IllegalStateException("Seek to offset " + offset + " failed");
+                }
+            }
+            System.out.println("Seek to offset:    " + (System.nanoTime() - start) / seeks + " ns");
+
+            start = System.nanoTime();
+            for (int i = 0; i < seeks; i++) {
+                long timestamp = (long) (random.nextDouble() * posts) * 1_000L - 500;
+                FeedLogCursor cursor = log.cursorAtTimestamp(timestamp);
+                if (!cursor.next() || cursor.timestamp() < timestamp || cursor.timestamp() - timestamp >= 1_000) {
+                    throw new IllegalStateException("Seek to timestamp " + timestamp + " failed");
+                }
+            }
+            System.out.println("Seek to timestamp: " + (System.nanoTime() - start) / seeks + " ns");
+
+            int deleted = log.applyRetention(1_000L * posts / 2, Long.MAX_VALUE);
+            System.out.println("Retention dropped " + deleted + " segments, first retained offset "
+                    + log.firstOffset());
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.company.iterator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Forward cursor over a snapshot of FeedLog segments, reading memory-mapped files directly.
+// content() is a view of the current item inside the mapping: no bytes are copied and the same
+// buffer object is reused for every item.
+// Every segment of the snapshot is mapped when the cursor is created, so retention may close
+// and delete those segments while the cursor is still reading them: the mapping keeps the
+// file's pages alive until the cursor is unreachable.
+class FeedLogCursor {
+    private final ByteBuffer[] views;   // per segment, limited to its size when the snapshot was taken
+    private final long[] baseOffsets;
+    private int segmentIndex;
+    private ByteBuffer mapped;
+    private ByteBuffer content;
+    private long nextOffset;
+
+    private long offset = -1;
+    private long timestamp;
+
+    private int markedSegment;
+    private ByteBuffer markedMapped;
+    private int markedPosition;
+    private long markedNextOffset;
+
+    FeedLogCursor(ByteBuffer[] views, long[] baseOffsets, int segmentIndex, long position, long offset) {
+        this.views = views;
+        this.baseOffsets = baseOffsets;
+        this.segmentIndex = segmentIndex;
+        this.nextOffset = offset;
+        if (segmentIndex < views.length) {
+            mapSegment(position);
+        }
+    }
+
+    // Move to the next item; returns false at the end of the snapshot
+    public boolean next() {
+        while (mapped == null || !mapped.hasRemaining()) {
+            if (mapped != null) {
+                segmentIndex++;
+            }
+            if (segmentIndex >= views.length) {
+                mapped = null;
+                return false;
+            }
+            mapSegment(0);
+            nextOffset = baseOffsets[segmentIndex];
+        }
+        int length = mapped.getInt();
+        timestamp = mapped.getLong();
+        int start = mapped.position();
+        content.limit(start + length).position(start);
+        mapped.position(start + length);
+        offset = nextOffset++;
+        return true;
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    // The current item's UTF-8 bytes, valid until the next call to next()
+    public ByteBuffer content() {
+        return content;
+    }
+
+    public String contentAsString() {
+        ByteBuffer bytes = content.duplicate();
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(),
+                    StandardCharsets.UTF_8);
+        }
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    // Remember the current position so that reset() can step back to it
+    void mark() {
+        markedSegment = segmentIndex;
+        markedMapped = mapped;
+        markedPosition = mapped != null ? mapped.position() : 0;
+        markedNextOffset = nextOffset;
+    }
+
+    void reset() {
+        segmentIndex = markedSegment;
+        nextOffset = markedNextOffset;
+        if (mapped != markedMapped) {
+            mapped = markedMapped;
+            content = mapped != null ? mapped.duplicate() : null;
+        }
+        if (mapped != null) {
+            mapped.position(markedPosition);
+        }
+    }
+
+    private void mapSegment(long position) {
+        mapped = views[segmentIndex];
+        mapped.position((int) position);
+        content = mapped.duplicate();
+    }
+}
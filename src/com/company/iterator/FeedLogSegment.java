@@ -0,0 +1,191 @@
+package com.company.iterator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// One append-only segment file of a FeedLog.
+// Record layout: int content length, long timestamp, UTF-8 content bytes.
+// A sparse in-memory index keeps (item, file position, timestamp) about every indexIntervalBytes,
+// and is rebuilt by scanning the file when an existing segment is opened.
+// A segment is mapped as a single buffer, so it can hold at most MAX_SEGMENT_BYTES.
+class FeedLogSegment {
+    static final int HEADER_BYTES = 12;
+    static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private final long baseOffset;
+    private final Path path;
+    private final FileChannel channel;
+    private final int indexIntervalBytes;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    private long size;
+    private int count;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    private int[] indexItems = new int[16];
+    private long[] indexPositions = new long[16];
+    private long[] indexTimestamps = new long[16];
+    private int indexSize;
+    private long lastIndexedPosition = -1;
+    private MappedByteBuffer readMapping;
+
+    FeedLogSegment(Path path, long baseOffset, int indexIntervalBytes) throws IOException {
+        this.path = path;
+        this.baseOffset = baseOffset;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        recover();
+    }
+
+    // Rebuild the index from the file and drop a partially written last record
+    private void recover() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) {
+            return;
+        }
+        if (fileSize > MAX_SEGMENT_BYTES) {
+            channel.close();
+            throw new IOException("Segment " + path + " is larger than " + MAX_SEGMENT_BYTES + " bytes");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        long position = 0;
+        while (position + HEADER_BYTES <= fileSize) {
+            int length = buffer.getInt((int) position);
+            long timestamp = buffer.getLong((int) position + 4);
+            if (length < 0 || position + HEADER_BYTES + length > fileSize) {
+                break;
+            }
+            indexIfDue(position, timestamp);
+            position += HEADER_BYTES + length;
+            count++;
+            lastTimestamp = timestamp;
+        }
+        size = position;
+        if (position < fileSize) {
+            channel.truncate(position);
+        }
+    }
+
+    void append(long timestamp, byte[] content) throws IOException {
+        if (size + HEADER_BYTES + content.length > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Record does not fit in a segment of " + MAX_SEGMENT_BYTES + " bytes");
+        }
+        indexIfDue(size, timestamp);
+        header.clear();
+        header.putInt(content.length).putLong(timestamp).flip();
+        ByteBuffer[] record = {header, ByteBuffer.wrap(content)};
+        channel.position(size);
+        long written = 0;
+        while (written < HEADER_BYTES + content.length) {
+            written += channel.write(record);
+        }
+        size += written;
+        count++;
+        lastTimestamp = timestamp;
+    }
+
+    private void indexIfDue(long position, long timestamp) {
+        if (lastIndexedPosition >= 0 && position - lastIndexedPosition < indexIntervalBytes) {
+            return;
+        }
+        if (indexSize == indexItems.length) {
+            indexItems = Arrays.copyOf(indexItems, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+            indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+        }
+        indexItems[indexSize] = count;
+        indexPositions[indexSize] = position;
+        indexTimestamps[indexSize] = timestamp;
+        indexSize++;
+        lastIndexedPosition = position;
+    }
+
+    // Index entry to start scanning from to reach the item at `offset`: the last entry at or before it
+    int floorEntryForOffset(long offset) {
+        int relative = (int) (offset - baseOffset);
+        int low = 0;
+        int high = indexSize - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (indexItems[mid] <= relative) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // Index entry to start scanning from to reach the first item with timestamp >= target
+    int floorEntryForTimestamp(long timestamp) {
+        int low = 0;
+        int high = indexSize - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (indexTimestamps[mid] < timestamp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    long entryOffset(int entry) {
+        return indexSize == 0 ? baseOffset : baseOffset + indexItems[entry];
+    }
+
+    long entryPosition(int entry) {
+        return indexSize == 0 ? 0 : indexPositions[entry];
+    }
+
+    // Read-only view of the first `length` bytes. One mapping is shared by all cursors and only
+    // replaced once the segment has grown past it, so seeks do not create a mapping each time.
+    synchronized ByteBuffer map(long length) throws IOException {
+        if (length > size) {
+            throw new IllegalArgumentException("Cannot map " + length + " bytes of a " + size + "-byte segment");
+        }
+        if (readMapping == null || readMapping.capacity() < length) {
+            readMapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer view = readMapping.duplicate();
+        view.limit((int) length);
+        return view;
+    }
+
+    void flush() throws IOException {
+        channel.force(false);
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    // Mappings already handed out stay readable after the file is deleted
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+}
@@ -0,0 +1,31 @@
+package com.company.iterator;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page of feed items plus the cursor where the next page starts
+class FeedPage {
+    static final FeedPage END = new FeedPage(Collections.<String>emptyList(), -1, true);
+
+    private final List<String> items;
+    private final long nextCursor;
+    private final boolean last;
+
+    public FeedPage(List<String> items, long nextCursor, boolean last) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.last = last;
+    }
+
+    public List<String> getItems() {
+        return items;
+    }
+
+    public long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+}
@@ -0,0 +1,9 @@
+package com.company.iterator;
+
+import java.io.IOException;
+
+// Backing store that serves a feed one page at a time.
+// Cursors are opaque to callers: 0 is the start of the feed, every page carries the next one.
+interface FeedPageSource {
+    FeedPage fetchPage(long cursor, int pageSize) throws IOException;
+}
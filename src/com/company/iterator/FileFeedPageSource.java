@@ -0,0 +1,59 @@
+package com.company.iterator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// File-backed page source with one UTF-8 item per line; the cursor is a byte offset.
+// Uses positional reads, so pages can be fetched from several threads at once.
+class FileFeedPageSource implements FeedPageSource, AutoCloseable {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+
+    public FileFeedPageSource(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @Override
+    public FeedPage fetchPage(long cursor, int pageSize) throws IOException {
+        List<String> items = new ArrayList<>(pageSize);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        long position = cursor;
+        while (true) {
+            chunk.clear();
+            int read = channel.read(chunk, position);
+            if (read <= 0) {
+                if (line.size() > 0) {
+                    items.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                }
+                return new FeedPage(items, position, true);
+            }
+            byte[] bytes = chunk.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    items.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                    line.reset();
+                    if (items.size() == pageSize) {
+                        return new FeedPage(items, position + i + 1, false);
+                    }
+                } else {
+                    line.write(bytes[i]);
+                }
+            }
+            position += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
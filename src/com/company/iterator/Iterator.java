@@ -1,6 +1,6 @@
 package com.company.iterator;
 
-interface Iterator {
+interface Iterator<T> {
     boolean hasNext();
-    Object next();
+    T next();
 }
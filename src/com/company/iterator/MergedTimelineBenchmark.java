@@ -0,0 +1,79 @@
+package com.company.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Home timeline from many followed feeds: lazy k-way merge vs collecting everything and sorting.
+// Arguments: feeds, items per feed, timeline length (defaults 1000 x 10000, first 100 items).
+public class MergedTimelineBenchmark {
+    public static void main(String[] args) {
+        int feedCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int itemsPerFeed = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int timelineLength = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        Random random = new Random(7);
+        List<TimestampedFeed> feeds = new ArrayList<>(feedCount);
+        for (int f = 0; f < feedCount; f++) {
+            TimestampedFeed feed = new TimestampedFeed();
+            String author = "Post by user " + f;
+            long timestamp = random.nextInt(1_000);
+            for (int i = 0; i < itemsPerFeed; i++) {
+                timestamp += 1 + random.nextInt(1_000);
+                feed.addItem(timestamp, author);
+            }
+            feeds.add(feed);
+        }
+        System.out.println(feedCount + " feeds x " + itemsPerFeed + " items");
+
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            for (int limit : new int[]{timelineLength, feedCount * itemsPerFeed}) {
+                long start = System.nanoTime();
+                long mergedChecksum = merged(feeds, limit);
+                long mergedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                long sortedChecksum = collectAndSort(feeds, limit);
+                long sortedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                if (mergedChecksum != sortedChecksum) {
+                    throw new IllegalStateException("Merge and sort disagree");
+                }
+                if (report) {
+                    System.out.println("First " + limit + " items: k-way merge " + mergedMillis
+                            + " ms, collect-then-sort " + sortedMillis + " ms");
+                }
+            }
+        }
+    }
+
+    private static long merged(List<TimestampedFeed> feeds, int limit) {
+        List<Iterator<FeedItem>> sources = new ArrayList<>(feeds.size());
+        for (TimestampedFeed feed : feeds) {
+            sources.add(feed.createIterator());
+        }
+        Iterator<FeedItem> timeline = new MergedTimelineIterator(sources, limit);
+        long checksum = 0;
+        while (timeline.hasNext()) {
+            checksum = checksum * 31 + timeline.next().getTimestamp();
+        }
+        return checksum;
+    }
+
+    private static long collectAndSort(List<TimestampedFeed> feeds, int limit) {
+        List<FeedItem> all = new ArrayList<>();
+        for (TimestampedFeed feed : feeds) {
+            Iterator<FeedItem> iterator = feed.createIterator();
+            while (iterator.hasNext()) {
+                all.add(iterator.next());
+            }
+        }
+        all.sort((a, b) -> Long.compare(b.getTimestamp(), a.getTimestamp()));
+        long checksum = 0;
+        for (int i = 0; i < Math.min(limit, all.size()); i++) {
+            checksum = checksum * 31 + all.get(i).getTimestamp();
+        }
+        return checksum;
+    }
+}
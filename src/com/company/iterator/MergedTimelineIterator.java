@@ -0,0 +1,107 @@
+package com.company.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Lazily merges any number of newest-first FeedItem iterators into one newest-first timeline.
+// The heap holds one head per source as parallel primitive arrays (timestamp, source index),
+// so producing an item costs O(log k) and allocates nothing beyond what the sources allocate.
+// Iteration stops after `limit` items.
+class MergedTimelineIterator implements Iterator<FeedItem> {
+    private final List<Iterator<FeedItem>> sources;
+    private final FeedItem[] heads;    // current item of each source
+    private final long[] heapKeys;     // timestamps, max-heap order
+    private final int[] heapSources;   // source index for each heap slot
+    private int heapSize;
+    private int remaining;
+
+    public MergedTimelineIterator(List<Iterator<FeedItem>> sources, int limit) {
+        this.sources = new ArrayList<>(sources);
+        this.heads = new FeedItem[sources.size()];
+        this.heapKeys = new long[sources.size()];
+        this.heapSources = new int[sources.size()];
+        this.remaining = limit;
+        for (int source = 0; source < sources.size(); source++) {
+            if (sources.get(source).hasNext()) {
+                heads[source] = sources.get(source).next();
+                heapKeys[heapSize] = heads[source].getTimestamp();
+                heapSources[heapSize] = source;
+                siftUp(heapSize++);
+            }
+        }
+    }
+
+    public MergedTimelineIterator(List<Iterator<FeedItem>> sources) {
+        this(sources, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return heapSize > 0 && remaining > 0;
+    }
+
+    @Override
+    public FeedItem next() {
+        if (!this.hasNext()) {
+            return null;
+        }
+        remaining--;
+        int source = heapSources[0];
+        FeedItem item = heads[source];
+        Iterator<FeedItem> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            // Replace the top with the source's next item and restore heap order
+            heads[source] = iterator.next();
+            heapKeys[0] = heads[source].getTimestamp();
+        } else {
+            heads[source] = null;
+            heapSize--;
+            heapKeys[0] = heapKeys[heapSize];
+            heapSources[0] = heapSources[heapSize];
+        }
+        siftDown(0);
+        return item;
+    }
+
+    // Newer first; equal timestamps come out in source order
+    private boolean before(int a, int b) {
+        return heapKeys[a] > heapKeys[b] || (heapKeys[a] == heapKeys[b] && heapSources[a] < heapSources[b]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(index, parent)) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                return;
+            }
+            if (child + 1 < heapSize && before(child + 1, child)) {
+                child++;
+            }
+            if (!before(child, index)) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = heapKeys[a];
+        heapKeys[a] = heapKeys[b];
+        heapKeys[b] = key;
+        int source = heapSources[a];
+        heapSources[a] = heapSources[b];
+        heapSources[b] = source;
+    }
+}
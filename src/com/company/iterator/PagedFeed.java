@@ -0,0 +1,44 @@
+package com.company.iterator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Feed that is never held in memory as a whole: iterators pull pages from a FeedPageSource
+// and fetch the next pages in the background while the current one is being consumed.
+class PagedFeed implements SocialMediaFeed<String> {
+    private static final ExecutorService DEFAULT_FETCHERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "feed-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final FeedPageSource source;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final int maxBufferedItems;
+    private final Executor fetchers;
+
+    public PagedFeed(FeedPageSource source, int pageSize, int prefetchDepth, int maxBufferedItems) {
+        this(source, pageSize, prefetchDepth, maxBufferedItems, DEFAULT_FETCHERS);
+    }
+
+    // prefetchDepth: pages fetched ahead of the one being read (0 = fetch on demand);
+    // maxBufferedItems: cap on items held by an iterator, including prefetched pages
+    public PagedFeed(FeedPageSource source, int pageSize, int prefetchDepth, int maxBufferedItems,
+                     Executor fetchers) {
+        if (pageSize < 1 || prefetchDepth < 0 || maxBufferedItems < pageSize) {
+            throw new IllegalArgumentException("Invalid paging configuration");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        this.maxBufferedItems = maxBufferedItems;
+        this.fetchers = fetchers;
+    }
+
+    @Override
+    public Iterator<String> createIterator() {
+        return new PagedFeedIterator(source, pageSize, prefetchDepth, maxBufferedItems, fetchers);
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.iterator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Reads a file-backed feed through PagedFeed with and without prefetching.
+// Each page fetch is given extra latency to stand in for a remote store, and the reader
+// does a little work per item, so prefetching can overlap the two.
+public class PagedFeedBenchmark {
+    private static final int ITEMS = 200_000;
+    private static final int PAGE_SIZE = 1_000;
+    private static final long FETCH_LATENCY_MILLIS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("feed", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ITEMS; i++) {
+                writer.write("Post " + i);
+                writer.newLine();
+            }
+        }
+
+        try (FileFeedPageSource fileSource = new FileFeedPageSource(file)) {
+            FeedPageSource slowSource = (cursor, pageSize) -> {
+                try {
+                    Thread.sleep(FETCH_LATENCY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return fileSource.fetchPage(cursor, pageSize);
+            };
+            for (int depth : new int[]{0, 1, 4}) {
+                PagedFeed feed = new PagedFeed(slowSource, PAGE_SIZE, depth, PAGE_SIZE * (depth + 1));
+                long start = System.nanoTime();
+                long count = 0;
+                long checksum = 0;
+                Iterator<String> iterator = feed.createIterator();
+                while (iterator.hasNext()) {
+                    String item = iterator.next();
+                    checksum += work(item);
+                    count++;
+                }
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println("Prefetch depth " + depth + ": " + count + " items in " + millis + " ms ("
+                        + count * 1000 / Math.max(1, millis) + " items/s, checksum " + checksum + ")");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // Stand-in for rendering an item
+    private static long work(String item) {
+        long hash = 0;
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < item.length(); i++) {
+                hash = hash * 31 + item.charAt(i);
+            }
+        }
+        return hash;
+    }
+}
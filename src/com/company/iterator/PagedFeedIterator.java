@@ -0,0 +1,98 @@
+package com.company.iterator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// Iterator over a PagedFeed. Pages are requested in order (each page supplies the next cursor),
+// so prefetched pages form a chain of futures running ahead of the reader.
+class PagedFeedIterator implements Iterator<String> {
+    private final FeedPageSource source;
+    private final int pageSize;
+    private final int prefetchDepth;
+    private final int maxBufferedItems;
+    private final Executor fetchers;
+
+    private final Deque<CompletableFuture<FeedPage>> pending = new ArrayDeque<>();
+    private CompletableFuture<FeedPage> lastScheduled;
+    private List<String> current = Collections.emptyList();
+    private int position = 0;
+
+    public PagedFeedIterator(FeedPageSource source, int pageSize, int prefetchDepth, int maxBufferedItems,
+                             Executor fetchers) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetchDepth = prefetchDepth;
+        this.maxBufferedItems = maxBufferedItems;
+        this.fetchers = fetchers;
+        this.lastScheduled = CompletableFuture.supplyAsync(() -> fetch(0), fetchers);
+        pending.add(lastScheduled);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position == current.size()) {
+            if (pending.isEmpty() && !scheduleNext()) {
+                return false;
+            }
+            FeedPage page = await(pending.poll());
+            current = page.getItems();
+            position = 0;
+            prefetch();
+        }
+        return true;
+    }
+
+    @Override
+    public String next() {
+        if (this.hasNext()) {
+            return current.get(position++);
+        }
+        return null;
+    }
+
+    // Keep up to prefetchDepth pages in flight, within the buffered-items cap
+    private void prefetch() {
+        while (pending.size() < prefetchDepth
+                && (pending.size() + 1) * pageSize + (current.size() - position) <= maxBufferedItems) {
+            if (!scheduleNext()) {
+                return;
+            }
+        }
+    }
+
+    private boolean scheduleNext() {
+        if (lastScheduled.isDone() && await(lastScheduled).isLast()) {
+            return false;
+        }
+        lastScheduled = lastScheduled.thenApplyAsync(
+                previous -> previous.isLast() ? FeedPage.END : fetch(previous.getNextCursor()), fetchers);
+        pending.add(lastScheduled);
+        return true;
+    }
+
+    private FeedPage fetch(long cursor) {
+        try {
+            return source.fetchPage(cursor, pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FeedPage await(CompletableFuture<FeedPage> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -8,10 +8,10 @@ public class SocialMediaClient {
         feed.addItem("Image 1");
         feed.addItem("Video 1");
 
-        Iterator iterator = feed.createIterator();
+        Iterator<String> iterator = feed.createIterator();
 
         while (iterator.hasNext()) {
-            String item = (String) iterator.next();
+            String item = iterator.next();
             System.out.println("Item: " + item);
         }
     }
@@ -1,5 +1,5 @@
 package com.company.iterator;
 
-interface SocialMediaFeed {
-    Iterator createIterator();
+interface SocialMediaFeed<T> {
+    Iterator<T> createIterator();
 }
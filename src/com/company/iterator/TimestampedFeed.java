@@ -0,0 +1,41 @@
+package com.company.iterator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Feed of timestamped posts. Posts are added in the order they were made and iterated newest first,
+// which is the order a timeline merge needs.
+class TimestampedFeed implements SocialMediaFeed<FeedItem> {
+    private List<FeedItem> items = new ArrayList<>();
+
+    public void addItem(long timestamp, String content) {
+        if (!items.isEmpty() && timestamp < items.get(items.size() - 1).getTimestamp()) {
+            throw new IllegalArgumentException("Posts must be added in timestamp order");
+        }
+        items.add(new FeedItem(timestamp, content));
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public Iterator<FeedItem> createIterator() {
+        return new Iterator<FeedItem>() {
+            private int position = items.size() - 1;
+
+            @Override
+            public boolean hasNext() {
+                return position >= 0;
+            }
+
+            @Override
+            public FeedItem next() {
+                if (this.hasNext()) {
+                    return items.get(position--);
+                }
+                return null;
+            }
+        };
+    }
+}
@@ -1,20 +1,17 @@
 package com.company.memento;
 
-import java.util.ArrayList;
-import java.util.List;
-
 // Originator class
 class Game {
     private int health;
     private int positionX;
     private int positionY;
-    private List<String> inventory;
+    private PersistentVector<String> inventory; // immutable, so snapshots can share it
 
     public Game(int health, int positionX, int positionY) {
         this.health = health;
         this.positionX = positionX;
         this.positionY = positionY;
-        this.inventory = new ArrayList<>();
+        this.inventory = PersistentVector.empty();
     }
 
     // Method to play the game (just simulating some changes)
@@ -22,15 +19,33 @@ class Game {
         health -= 10;
         positionX += 5;
         positionY += 3;
-        inventory.add("Sword");
+        inventory = inventory.conj("Sword");
         System.out.println("Playing... Current state: " + this);
     }
 
+    // Quiet per-frame updates, used by autosave loops
+    public void move(int dx, int dy) {
+        positionX += dx;
+        positionY += dy;
+    }
+
+    public void pickUp(String item) {
+        inventory = inventory.conj(item);
+    }
+
     // Save the current state in a memento
     public GameMemento saveState() {
         return new GameMemento(health, positionX, positionY, inventory);
     }
 
+    // Append the current state to the saves kept after a keyframe. The inventory is stored as its
+    // difference from the previous save, found by comparison rather than assumed, so the delta stays
+    // correct after the game was restored from a slot, a timeline or another caretaker.
+    public void saveDeltaState(GameDeltaMemento deltas) {
+        int kept = inventory.sharedPrefixLength(deltas.getInventory());
+        deltas.record(health, positionX, positionY, inventory, kept);
+    }
+
     // Restore the state from a memento
     public void restoreState(GameMemento memento) {
         this.health = memento.getHealth();
@@ -39,10 +54,35 @@ class Game {
         this.inventory = memento.getInventory();
     }
 
+    // Restore the state of the last save in a keyframe's delta chain
+    public void restoreState(GameDeltaMemento deltas) {
+        this.health = deltas.getHealth();
+        this.positionX = deltas.getPositionX();
+        this.positionY = deltas.getPositionY();
+        this.inventory = deltas.getInventory();
+    }
+
+    // Save the current state into the timeline slot for this tick
+    public void saveState(GameTimeline timeline, long tick) {
+        timeline.record(tick, health, positionX, positionY, inventory);
+    }
+
+    // Restore the state recorded for a tick; returns false if the tick is no longer retained
+    public boolean restoreState(GameTimeline timeline, long tick) {
+        int slot = timeline.slotOf(tick);
+        if (slot < 0) {
+            return false;
+        }
+        this.health = timeline.healthAt(slot);
+        this.positionX = timeline.positionXAt(slot);
+        this.positionY = timeline.positionYAt(slot);
+        this.inventory = timeline.inventoryAt(slot);
+        return true;
+    }
+
     @Override
     public String toString() {
         return "Game{health=" + health + ", positionX=" + positionX + ", positionY=" + positionY +
                 ", inventory=" + inventory + '}';
     }
 }
-
@@ -0,0 +1,102 @@
+package com.company.memento;
+
+import java.util.Arrays;
+
+// Memento holding the saves made after one keyframe, packed into parallel arrays so that a save
+// appends a few ints instead of allocating an object. Each save records the scalar fields and the
+// inventory as "keep the first inventoryBase entries of the previous save, then append these items".
+class GameDeltaMemento {
+    private final GameMemento keyframe;
+    private int size;
+    private int[] health;
+    private int[] positionX;
+    private int[] positionY;
+    private int[] inventoryBase; // entries kept from the previous save
+    private int[] addedEnd;      // end of this save's appended items in addedItems
+    private String[] addedItems;
+    private int addedCount;
+    // Inventory after the last save, which the next save is diffed against
+    private PersistentVector<String> inventory;
+
+    public GameDeltaMemento(GameMemento keyframe, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.keyframe = keyframe;
+        this.health = new int[capacity];
+        this.positionX = new int[capacity];
+        this.positionY = new int[capacity];
+        this.inventoryBase = new int[capacity];
+        this.addedEnd = new int[capacity];
+        this.addedItems = new String[0];
+        this.inventory = keyframe.getInventory();
+    }
+
+    // Number of saves after the keyframe
+    public int size() {
+        return size;
+    }
+
+    // Record a save: inventoryBase is the length of the prefix shared with getInventory()
+    void record(int health, int positionX, int positionY, PersistentVector<String> inventory, int inventoryBase) {
+        if (size == this.health.length) {
+            int capacity = Math.max(size * 2, 8);
+            this.health = Arrays.copyOf(this.health, capacity);
+            this.positionX = Arrays.copyOf(this.positionX, capacity);
+            this.positionY = Arrays.copyOf(this.positionY, capacity);
+            this.inventoryBase = Arrays.copyOf(this.inventoryBase, capacity);
+            this.addedEnd = Arrays.copyOf(this.addedEnd, capacity);
+        }
+        int added = inventory.size() - inventoryBase;
+        if (addedCount + added > addedItems.length) {
+            addedItems = Arrays.copyOf(addedItems, Math.max(addedItems.length * 2, addedCount + added));
+        }
+        for (int i = 0; i < added; i++) {
+            addedItems[addedCount++] = inventory.get(inventoryBase + i);
+        }
+        this.health[size] = health;
+        this.positionX[size] = positionX;
+        this.positionY[size] = positionY;
+        this.inventoryBase[size] = inventoryBase;
+        this.addedEnd[size] = addedCount;
+        this.inventory = inventory;
+        size++;
+    }
+
+    // Drop the last save; the inventory it was diffed against is rebuilt from the keyframe
+    public void removeLast() {
+        if (size == 0) {
+            throw new IllegalStateException("No saves after the keyframe");
+        }
+        size--;
+        int end = size == 0 ? 0 : addedEnd[size - 1];
+        Arrays.fill(addedItems, end, addedCount, null);
+        addedCount = end;
+        PersistentVector<String> replayed = keyframe.getInventory();
+        int start = 0;
+        for (int i = 0; i < size; i++) {
+            replayed = replayed.truncate(inventoryBase[i]);
+            for (; start < addedEnd[i]; start++) {
+                replayed = replayed.conj(addedItems[start]);
+            }
+        }
+        inventory = replayed;
+    }
+
+    // Scalar fields of the last save (the keyframe's when nothing was saved after it)
+    int getHealth() {
+        return size == 0 ? keyframe.getHealth() : health[size - 1];
+    }
+
+    int getPositionX() {
+        return size == 0 ? keyframe.getPositionX() : positionX[size - 1];
+    }
+
+    int getPositionY() {
+        return size == 0 ? keyframe.getPositionY() : positionY[size - 1];
+    }
+
+    PersistentVector<String> getInventory() {
+        return inventory;
+    }
+}
@@ -1,6 +1,5 @@
 package com.company.memento;
 
-import java.util.ArrayList;
 import java.util.List;
 
 // Memento class that stores the state of the game
@@ -8,13 +7,13 @@ class GameMemento {
     private int health;
     private int positionX;
     private int positionY;
-    private List<String> inventory;
+    private PersistentVector<String> inventory;
 
     public GameMemento(int health, int positionX, int positionY, List<String> inventory) {
         this.health = health;
         this.positionX = positionX;
         this.positionY = positionY;
-        this.inventory = new ArrayList<>(inventory); // Deep copy
+        this.inventory = PersistentVector.copyOf(inventory); // O(1) when already persistent
     }
 
     public int getHealth() {
@@ -29,7 +28,7 @@ class GameMemento {
         return positionY;
     }
 
-    public List<String> getInventory() {
-        return new ArrayList<>(inventory); // Return a copy to prevent modification
+    public PersistentVector<String> getInventory() {
+        return inventory; // Immutable, so it can be shared without copying
     }
 }
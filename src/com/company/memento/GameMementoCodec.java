@@ -0,0 +1,205 @@
+package com.company.memento;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Compact binary format for a GameMemento:
+//   header:  magic, version, flags, varint payload length
+//   payload: varint item count + UTF-8 item names (each distinct item stored once),
+//            zigzag varint health / positionX / positionY,
+//            varint inventory size + one varint item id per entry
+// With FLAG_COMPRESSED the payload is deflated at BEST_SPEED.
+final class GameMementoCodec {
+    private static final int MAGIC = 0x47534156; // "GSAV"
+    private static final byte VERSION = 1;
+    private static final byte FLAG_COMPRESSED = 1;
+
+    private GameMementoCodec() {
+    }
+
+    public static byte[] encode(GameMemento memento, boolean compress) {
+        PersistentVector<String> inventory = memento.getInventory();
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] itemIds = new int[inventory.size()];
+        for (int i = 0; i < itemIds.length; i++) {
+            String item = inventory.get(i);
+            Integer id = ids.get(item);
+            if (id == null) {
+                id = names.size();
+                ids.put(item, id);
+                names.add(item);
+            }
+            itemIds[i] = id;
+        }
+
+        Output payload = new Output(16 + itemIds.length);
+        payload.writeVarInt(names.size());
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            payload.writeVarInt(bytes.length);
+            payload.write(bytes, 0, bytes.length);
+        }
+        payload.writeVarInt(zigZag(memento.getHealth()));
+        payload.writeVarInt(zigZag(memento.getPositionX()));
+        payload.writeVarInt(zigZag(memento.getPositionY()));
+        payload.writeVarInt(itemIds.length);
+        for (int id : itemIds) {
+            payload.writeVarInt(id);
+        }
+
+        byte[] body = payload.buffer;
+        int bodyLength = payload.size;
+        byte flags = 0;
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            deflater.setInput(payload.buffer, 0, payload.size);
+            deflater.finish();
+            byte[] compressed = new byte[payload.size + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            deflater.end();
+            if (length < payload.size) { // keep raw bytes when compression doesn't pay off
+                body = compressed;
+                bodyLength = length;
+                flags = FLAG_COMPRESSED;
+            }
+        }
+
+        Output out = new Output(bodyLength + 16);
+        out.writeInt(MAGIC);
+        out.write(VERSION);
+        out.write(flags);
+        out.writeVarInt(payload.size);
+        out.write(body, 0, bodyLength);
+        return out.toByteArray();
+    }
+
+    public static GameMemento decode(ByteBuffer in) {
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a saved game");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported save version: " + version);
+        }
+        byte flags = in.get();
+        int payloadLength = readVarInt(in);
+        ByteBuffer payload = in;
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            byte[] compressed = new byte[in.remaining()];
+            in.get(compressed);
+            byte[] raw = new byte[payloadLength];
+            Inflater inflater = new Inflater();
+            inflater.setInput(compressed);
+            try {
+                int length = inflater.inflate(raw);
+                if (length != payloadLength) {
+                    throw new IllegalArgumentException("Truncated saved game");
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Corrupt saved game", e);
+            } finally {
+                inflater.end();
+            }
+            payload = ByteBuffer.wrap(raw);
+        } else if (in.remaining() != payloadLength) {
+            throw new IllegalArgumentException("Truncated saved game");
+        }
+
+        String[] names = new String[readVarInt(payload)];
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = new byte[readVarInt(payload)];
+            payload.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        int health = unZigZag(readVarInt(payload));
+        int positionX = unZigZag(readVarInt(payload));
+        int positionY = unZigZag(readVarInt(payload));
+        int size = readVarInt(payload);
+        PersistentVector<String> inventory = PersistentVector.empty();
+        for (int i = 0; i < size; i++) {
+            inventory = inventory.conj(names[readVarInt(payload)]);
+        }
+        return new GameMemento(health, positionX, positionY, inventory);
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // Minimal growable byte buffer
+    private static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        void write(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+}
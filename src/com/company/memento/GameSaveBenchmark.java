@@ -0,0 +1,65 @@
+package com.company.memento;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+// Caller-thread latency of async vs synchronous slot saves, and bytes per snapshot on disk
+public class GameSaveBenchmark {
+    private static final int SAVES = 2_000;
+    private static final int INVENTORY_SIZE = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        Game game = new Game(100, 0, 0);
+        String[] loot = {"Sword", "Shield", "Potion", "Arrow", "Gold"};
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            game.pickUp(loot[i % loot.length]);
+        }
+        Path directory = Files.createTempDirectory("game-saves");
+
+        for (boolean compress : new boolean[]{false, true}) {
+            try (GameSaveStore store = new GameSaveStore(directory.resolve(compress ? "lz" : "raw"), compress)) {
+                // Synchronous: encode + write + rename on the caller thread
+                long start = System.nanoTime();
+                for (int i = 0; i < SAVES; i++) {
+                    game.move(1, 1);
+                    store.save("slot" + (i % 4), game.saveState());
+                }
+                long syncNanos = System.nanoTime() - start;
+
+                // Asynchronous: caller only captures the memento and enqueues it
+                List<Future<Path>> pending = new ArrayList<>(SAVES);
+                start = System.nanoTime();
+                for (int i = 0; i < SAVES; i++) {
+                    game.move(1, 1);
+                    pending.add(store.saveAsync("slot" + (i % 4), game.saveState()));
+                }
+                long asyncNanos = System.nanoTime() - start;
+                for (Future<Path> future : pending) {
+                    future.get();
+                }
+
+                GameMemento loaded = store.load("slot3");
+                System.out.println((compress ? "Compressed" : "Uncompressed") + " slots:");
+                System.out.println("  sync save:  " + syncNanos / SAVES + " ns/save on caller thread");
+                System.out.println("  async save: " + asyncNanos / SAVES + " ns/save on caller thread");
+                System.out.println("  " + store.slotSize("slot3") + " bytes/snapshot, loaded inventory size "
+                        + loaded.getInventory().size());
+            }
+        }
+        System.out.println("Java serialization of the same inventory: " + javaSerializedSize(game) + " bytes");
+    }
+
+    private static int javaSerializedSize(Game game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>(game.saveState().getInventory()));
+        }
+        return bytes.size();
+    }
+}
@@ -0,0 +1,152 @@
+package com.company.memento;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Persists mementos into named save slots on disk.
+// Encoding and file I/O run on a single background writer thread; the caller only hands over
+// the memento, which is immutable and therefore safe to share across threads.
+// Each slot has at most one pending write: saving again before it runs replaces the queued
+// memento, so a fast producer cannot pile up snapshots in memory.
+class GameSaveStore implements AutoCloseable {
+    private final Path directory;
+    private final boolean compress;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Guarded by itself
+    private final Map<String, PendingSave> pending = new HashMap<>();
+
+    public GameSaveStore(Path directory, boolean compress) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.compress = compress;
+    }
+
+    // Queue the memento for writing. If the slot already has a queued write, that write now
+    // stores this memento instead, and both callers get the same future.
+    public Future<Path> saveAsync(String slot, GameMemento memento) {
+        slotFile(slot); // validate the name on the caller thread
+        synchronized (pending) {
+            PendingSave save = pending.get(slot);
+            if (save != null) {
+                save.memento = memento;
+                return save.future;
+            }
+            save = new PendingSave(memento);
+            pending.put(slot, save);
+            try {
+                writer.execute(() -> flush(slot));
+            } catch (RejectedExecutionException e) {
+                pending.remove(slot);
+                throw new IllegalStateException("Save store is closed", e);
+            }
+            return save.future;
+        }
+    }
+
+    // Write the memento on the calling thread
+    public Path save(String slot, GameMemento memento) throws IOException {
+        return write(slot, memento);
+    }
+
+    // Load a slot by memory-mapping its file; returns null when the slot is empty
+    public GameMemento load(String slot) throws IOException {
+        Path file = slotFile(slot);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return GameMementoCodec.decode(buffer);
+        }
+    }
+
+    public long slotSize(String slot) throws IOException {
+        return Files.size(slotFile(slot));
+    }
+
+    // Wait for queued writes to finish and stop the writer thread. Writes still queued when the
+    // wait times out (or is interrupted) are dropped, and their futures fail instead of staying pending.
+    @Override
+    public void close() {
+        writer.shutdown();
+        boolean terminated = false;
+        try {
+            terminated = writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!terminated) {
+            writer.shutdownNow();
+            synchronized (pending) {
+                for (PendingSave save : pending.values()) {
+                    save.future.completeExceptionally(new IllegalStateException("Save store closed before the write ran"));
+                }
+                pending.clear();
+            }
+        }
+    }
+
+    private void flush(String slot) {
+        PendingSave save;
+        synchronized (pending) {
+            save = pending.remove(slot);
+        }
+        if (save == null) { // dropped by close
+            return;
+        }
+        try {
+            save.future.complete(write(slot, save.memento));
+        } catch (Throwable e) {
+            save.future.completeExceptionally(e);
+        }
+    }
+
+    private Path write(String slot, GameMemento memento) throws IOException {
+        byte[] bytes = GameMementoCodec.encode(memento, compress);
+        Path file = slotFile(slot);
+        // Every write stages through its own temp file, so concurrent saves to one slot
+        // cannot mix their bytes; the last move wins
+        Path temp = Files.createTempFile(directory, slot, ".tmp");
+        try {
+            Files.write(temp, bytes);
+            // Replace the slot atomically so a crash never leaves a half-written save
+            return Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static class PendingSave {
+        // Written by saveAsync and read by the writer, both under the pending lock
+        GameMemento memento;
+        final CompletableFuture<Path> future = new CompletableFuture<>();
+
+        PendingSave(GameMemento memento) {
+            this.memento = memento;
+        }
+    }
+
+    private Path slotFile(String slot) {
+        if (!slot.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("Invalid slot name: " + slot);
+        }
+        return directory.resolve(slot + ".sav");
+    }
+}
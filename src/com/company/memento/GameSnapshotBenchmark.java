@@ -0,0 +1,68 @@
+package com.company.memento;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares bytes allocated per autosave for full snapshots vs keyframe + delta mementos
+public class GameSnapshotBenchmark {
+    private static final int FRAMES = 100_000;
+    private static final int KEYFRAME_INTERVAL = 60;
+
+    public static void main(String[] args) {
+        int inventorySize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+
+        // Warm up both paths before measuring
+        run(inventorySize, false);
+        run(inventorySize, true);
+
+        long fullBytes = run(inventorySize, false);
+        long deltaBytes = run(inventorySize, true);
+
+        System.out.println("Inventory size: " + inventorySize + ", frames: " + FRAMES);
+        System.out.println("Full snapshots:  " + fullBytes / FRAMES + " bytes/save");
+        System.out.println("Delta snapshots: " + deltaBytes / FRAMES + " bytes/save"
+                + " (keyframe every " + KEYFRAME_INTERVAL + " saves)");
+    }
+
+    // Returns the bytes allocated by the saving thread over FRAMES autosaves
+    private static long run(int inventorySize, boolean incremental) {
+        Game game = new Game(100, 0, 0);
+        for (int i = 0; i < inventorySize; i++) {
+            game.pickUp("Item" + i);
+        }
+        List<Object> retained = new ArrayList<>(FRAMES);
+        GameDeltaMemento deltas = null;
+        int saves = 0;
+
+        long before = allocatedBytes();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            game.move(1, 0);
+            if (frame % 100 == 0) {
+                game.pickUp("Loot");
+            }
+            if (incremental && frame % KEYFRAME_INTERVAL != 0) {
+                game.saveDeltaState(deltas);
+            } else {
+                GameMemento keyframe = game.saveState();
+                retained.add(keyframe);
+                if (incremental) {
+                    deltas = new GameDeltaMemento(keyframe, KEYFRAME_INTERVAL - 1);
+                    retained.add(deltas);
+                }
+            }
+            saves++;
+        }
+        long allocated = allocatedBytes() - before;
+        if (saves != FRAMES || retained.isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return allocated;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
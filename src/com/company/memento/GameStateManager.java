@@ -1,14 +1,50 @@
 package com.company.memento;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 class GameStateManager {
     private List<GameMemento> savedStates = new ArrayList<>();
+    // Saves made after each keyframe in savedStates (null until the first delta, so always null in full mode)
+    private List<GameDeltaMemento> savedDeltas = new ArrayList<>();
+    private final int keyframeInterval;
+    private GameSaveStore saveStore;
+
+    // Full snapshot on every save
+    public GameStateManager() {
+        this(1);
+    }
+
+    // Full keyframe every keyframeInterval saves, deltas in between
+    public GameStateManager(int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be at least 1");
+        }
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    public void setSaveStore(GameSaveStore saveStore) {
+        this.saveStore = saveStore;
+    }
 
     // Save the current game state
     public void saveGame(Game game) {
-        savedStates.add(game.saveState());
+        int last = savedStates.size() - 1;
+        GameDeltaMemento deltas = last < 0 ? null : savedDeltas.get(last);
+        int saves = deltas == null ? 1 : deltas.size() + 1;
+        if (last >= 0 && saves < keyframeInterval) {
+            if (deltas == null) {
+                deltas = new GameDeltaMemento(savedStates.get(last), keyframeInterval - 1);
+                savedDeltas.set(last, deltas);
+            }
+            game.saveDeltaState(deltas);
+        } else {
+            savedStates.add(game.saveState());
+            savedDeltas.add(null);
+        }
         System.out.println("Game state saved.");
     }
 
@@ -18,6 +54,39 @@ class GameStateManager {
             System.out.println("No saved states to restore.");
             return;
         }
-        game.restoreState(savedStates.remove(savedStates.size() - 1));
+        int last = savedStates.size() - 1;
+        GameDeltaMemento deltas = savedDeltas.get(last);
+        if (deltas == null || deltas.size() == 0) {
+            game.restoreState(savedStates.remove(last));
+            savedDeltas.remove(last);
+        } else {
+            game.restoreState(deltas);
+            deltas.removeLast();
+        }
         System.out.println("Game state restored: " + game);
-    }}
+    }
+
+    // Persist the current game state to a save slot without blocking on disk I/O
+    public Future<Path> saveGameToSlot(Game game, String slot) {
+        if (saveStore == null) {
+            throw new IllegalStateException("No save store configured");
+        }
+        Future<Path> pending = saveStore.saveAsync(slot, game.saveState());
+        System.out.println("Game state queued for slot " + slot + ".");
+        return pending;
+    }
+
+    // Load a game state from a save slot
+    public void loadGameFromSlot(Game game, String slot) throws IOException {
+        if (saveStore == null) {
+            throw new IllegalStateException("No save store configured");
+        }
+        GameMemento memento = saveStore.load(slot);
+        if (memento == null) {
+            System.out.println("No saved game in slot " + slot + ".");
+            return;
+        }
+        game.restoreState(memento);
+        System.out.println("Game state loaded from slot " + slot + ": " + game);
+    }
+}
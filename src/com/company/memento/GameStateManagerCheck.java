@@ -0,0 +1,61 @@
+package com.company.memento;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// Regression checks for delta saves made after the game was restored from outside the manager
+public class GameStateManagerCheck {
+
+    public static void main(String[] args) throws Exception {
+        checkRestoreFromMemento();
+        checkLoadFromSlot();
+        System.out.println("GameStateManager checks passed.");
+    }
+
+    // save, pick up A, save, restore an unrelated [X, Y] memento, save, restore -> [X, Y]
+    private static void checkRestoreFromMemento() {
+        Game game = new Game(100, 0, 0);
+        GameStateManager manager = new GameStateManager(10);
+        manager.saveGame(game);
+        game.pickUp("A");
+        manager.saveGame(game);
+        game.restoreState(new GameMemento(50, 1, 2, Arrays.asList("X", "Y")));
+        manager.saveGame(game);
+        manager.restoreGame(game);
+        expect(game, 50, 1, 2, Arrays.asList("X", "Y"));
+    }
+
+    // Same sequence with the [X, Y] state loaded from a save slot
+    private static void checkLoadFromSlot() throws Exception {
+        Path directory = Files.createTempDirectory("game-check");
+        try (GameSaveStore store = new GameSaveStore(directory, false)) {
+            Game other = new Game(50, 1, 2);
+            other.pickUp("X");
+            other.pickUp("Y");
+            store.save("slot", other.saveState());
+
+            Game game = new Game(100, 0, 0);
+            GameStateManager manager = new GameStateManager(10);
+            manager.setSaveStore(store);
+            manager.saveGame(game);
+            game.pickUp("A");
+            manager.saveGame(game);
+            manager.loadGameFromSlot(game, "slot");
+            manager.saveGame(game);
+            manager.restoreGame(game);
+            expect(game, 50, 1, 2, Arrays.asList("X", "Y"));
+            manager.restoreGame(game);
+            expect(game, 100, 0, 0, Arrays.asList("A"));
+        }
+    }
+
+    private static void expect(Game game, int health, int positionX, int positionY, List<String> inventory) {
+        GameMemento state = game.saveState();
+        if (state.getHealth() != health || state.getPositionX() != positionX
+                || state.getPositionY() != positionY || !state.getInventory().equals(inventory)) {
+            throw new IllegalStateException("Unexpected state: " + game);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.company.memento;
+
+import java.util.Arrays;
+
+// Caretaker that keeps the last `capacity` ticks in a fixed ring buffer.
+// All storage is allocated up front; because the inventory is a persistent vector,
+// recording a tick only copies a few ints and one reference, so steady-state saving allocates nothing.
+class GameTimeline {
+    private final int capacity;
+    private final long[] ticks;
+    private final int[] health;
+    private final int[] positionX;
+    private final int[] positionY;
+    private final Object[] inventory;
+    private long latestTick = -1;
+
+    public GameTimeline(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.ticks = new long[capacity];
+        this.health = new int[capacity];
+        this.positionX = new int[capacity];
+        this.positionY = new int[capacity];
+        this.inventory = new Object[capacity];
+        Arrays.fill(ticks, -1);
+    }
+
+    // Record the state for a tick. Recording an earlier tick (after a rollback)
+    // discards every later tick from the timeline.
+    void record(long tick, int health, int positionX, int positionY, PersistentVector<String> inventory) {
+        if (tick < 0) {
+            throw new IllegalArgumentException("tick must not be negative");
+        }
+        int slot = (int) (tick % capacity);
+        this.ticks[slot] = tick;
+        this.health[slot] = health;
+        this.positionX[slot] = positionX;
+        this.positionY[slot] = positionY;
+        this.inventory[slot] = inventory;
+        this.latestTick = tick;
+    }
+
+    // Slot holding the tick, or -1 if it was never recorded or has been overwritten
+    int slotOf(long tick) {
+        if (tick < 0 || tick > latestTick || tick <= latestTick - capacity) {
+            return -1;
+        }
+        int slot = (int) (tick % capacity);
+        return ticks[slot] == tick ? slot : -1;
+    }
+
+    public boolean contains(long tick) {
+        return slotOf(tick) >= 0;
+    }
+
+    public long getLatestTick() {
+        return latestTick;
+    }
+
+    // Oldest tick that may still be retained
+    public long getOldestTick() {
+        return Math.max(0, latestTick - capacity + 1);
+    }
+
+    int healthAt(int slot) {
+        return health[slot];
+    }
+
+    int positionXAt(int slot) {
+        return positionX[slot];
+    }
+
+    int positionYAt(int slot) {
+        return positionY[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    PersistentVector<String> inventoryAt(int slot) {
+        return (PersistentVector<String>) inventory[slot];
+    }
+}
@@ -0,0 +1,62 @@
+package com.company.memento;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// Save/restore cost of the ring-buffer timeline at 60 and 240 ticks per second,
+// keeping the last 10 seconds of game time for rollback
+public class GameTimelineBenchmark {
+    private static final int RETAINED_SECONDS = 10;
+    private static final int SIMULATED_SECONDS = 600;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 2; round++) {
+            run(60, round == 1);
+            run(240, round == 1);
+        }
+    }
+
+    private static void run(int ticksPerSecond, boolean report) {
+        GameTimeline timeline = new GameTimeline(ticksPerSecond * RETAINED_SECONDS);
+        Game game = new Game(100, 0, 0);
+        for (int i = 0; i < 1_000; i++) {
+            game.pickUp("Item" + i);
+        }
+        long totalTicks = (long) ticksPerSecond * SIMULATED_SECONDS;
+
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (long tick = 0; tick < totalTicks; tick++) {
+            game.move(1, -1);
+            game.saveState(timeline, tick);
+        }
+        long saveNanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        // Random rollbacks within the retained window
+        Random random = new Random(42);
+        long oldest = timeline.getOldestTick();
+        long window = timeline.getLatestTick() - oldest + 1;
+        int restores = 1_000_000;
+        int misses = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < restores; i++) {
+            if (!game.restoreState(timeline, oldest + (long) (random.nextDouble() * window))) {
+                misses++;
+            }
+        }
+        long restoreNanos = System.nanoTime() - start;
+
+        if (report) {
+            System.out.println(ticksPerSecond + " ticks/s, " + RETAINED_SECONDS + "s retained: save "
+                    + saveNanos / totalTicks + " ns/tick, restore " + restoreNanos / restores + " ns/op, "
+                    + bytes / totalTicks + " bytes allocated/tick, " + misses + " misses");
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.memento;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Copy-on-save ArrayList inventories vs the persistent vector used by Game,
+// with a large inventory and many retained snapshots
+public class InventorySnapshotBenchmark {
+    private static final int INVENTORY_SIZE = 10_000;
+    private static final int SNAPSHOTS = 1_000;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2; // first rounds are warm-up
+            copyingSnapshots(report);
+            persistentSnapshots(report);
+        }
+    }
+
+    private static void copyingSnapshots(boolean report) {
+        List<String> inventory = new ArrayList<>();
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            inventory.add("Item" + i);
+        }
+        List<List<String>> snapshots = new ArrayList<>(SNAPSHOTS);
+
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            inventory.set(i, "Upgraded" + i);
+            snapshots.add(new ArrayList<>(inventory));
+        }
+        long saveNanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (List<String> snapshot : snapshots) {
+            inventory = new ArrayList<>(snapshot);
+            checksum += inventory.size();
+        }
+        long restoreNanos = System.nanoTime() - start;
+
+        if (report) {
+            print("ArrayList copies", saveNanos, restoreNanos, bytes, checksum);
+        }
+    }
+
+    private static void persistentSnapshots(boolean report) {
+        PersistentVector<String> inventory = PersistentVector.empty();
+        for (int i = 0; i < INVENTORY_SIZE; i++) {
+            inventory = inventory.conj("Item" + i);
+        }
+        List<PersistentVector<String>> snapshots = new ArrayList<>(SNAPSHOTS);
+
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            inventory = inventory.with(i, "Upgraded" + i);
+            snapshots.add(inventory);
+        }
+        long saveNanos = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        start = System.nanoTime();
+        long checksum = 0;
+        for (PersistentVector<String> snapshot : snapshots) {
+            inventory = snapshot;
+            checksum += inventory.size();
+        }
+        long restoreNanos = System.nanoTime() - start;
+
+        if (report) {
+            print("Persistent vector", saveNanos, restoreNanos, bytes, checksum);
+        }
+    }
+
+    private static void print(String label, long saveNanos, long restoreNanos, long bytes, long checksum) {
+        System.out.println(label + ": save " + saveNanos / SNAPSHOTS + " ns/op, restore "
+                + restoreNanos / SNAPSHOTS + " ns/op, " + bytes / SNAPSHOTS + " bytes/snapshot"
+                + " (checksum " + checksum + ")");
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,232 @@
+package com.company.memento;
+
+import java.util.AbstractList;
+import java.util.List;
+
+// Immutable vector backed by a 32-way trie plus a tail buffer.
+// Every "modification" returns a new vector that shares all untouched nodes with the old one,
+// so taking a snapshot is just keeping a reference and updates cost O(log32 n).
+final class PersistentVector<T> extends AbstractList<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int count;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int count, int shift, Object[] root, Object[] tail) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    // Already-persistent lists are shared as is, anything else is copied once
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> copyOf(List<? extends T> items) {
+        if (items instanceof PersistentVector) {
+            return (PersistentVector<T>) items;
+        }
+        PersistentVector<T> vector = empty();
+        for (T item : items) {
+            vector = vector.conj(item);
+        }
+        return vector;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    // Returns a copy with item appended
+    public PersistentVector<T> conj(T item) {
+        if (count - tailOffset() < WIDTH) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = item;
+            return new PersistentVector<>(count + 1, shift, root, newTail);
+        }
+        // Tail is full: push it into the tree, growing a level if the root is full
+        Object[] newRoot;
+        int newShift = shift;
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(count + 1, newShift, newRoot, new Object[]{item});
+    }
+
+    // Returns a copy with the element at index replaced
+    public PersistentVector<T> with(int index, T item) {
+        if (index == count) {
+            return conj(item);
+        }
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = item;
+            return new PersistentVector<>(count, shift, root, newTail);
+        }
+        return new PersistentVector<>(count, shift, assoc(shift, root, index, item), tail);
+    }
+
+    // Returns a copy without the last element
+    public PersistentVector<T> pop() {
+        if (count == 0) {
+            throw new IllegalStateException("Can't pop empty vector");
+        }
+        if (count == 1) {
+            return empty();
+        }
+        if (count - tailOffset() > 1) {
+            Object[] newTail = new Object[tail.length - 1];
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+            return new PersistentVector<>(count - 1, shift, root, newTail);
+        }
+        // Tail becomes empty: pull the last leaf out of the tree
+        Object[] newTail = leafFor(count - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(count - 1, newShift, newRoot, newTail);
+    }
+
+    // Returns a copy truncated to the first newSize elements
+    public PersistentVector<T> truncate(int newSize) {
+        PersistentVector<T> vector = this;
+        while (vector.count > newSize) {
+            vector = vector.pop();
+        }
+        return vector;
+    }
+
+    // Length of the longest common prefix with other. Leaves shared by both vectors are skipped
+    // by identity, so comparing a vector with an earlier version of itself costs O(tail), not O(n).
+    public int sharedPrefixLength(PersistentVector<?> other) {
+        int limit = Math.min(count, other.count);
+        int index = 0;
+        if (root == other.root) {
+            index = Math.min(tailOffset(), limit); // same trie, so both hold the same leading elements
+        }
+        while (index < limit) {
+            Object[] leaf = leafFor(index);
+            Object[] otherLeaf = other.leafFor(index);
+            int end = Math.min(limit, (index | MASK) + 1);
+            if (leaf == otherLeaf) {
+                index = end;
+                continue;
+            }
+            for (; index < end; index++) {
+                Object item = leaf[index & MASK];
+                Object otherItem = otherLeaf[index & MASK];
+                if (item != otherItem && (item == null || !item.equals(otherItem))) {
+                    return index;
+                }
+            }
+        }
+        return limit;
+    }
+
+    private int tailOffset() {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((count - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child != null
+                    ? pushTail(level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    private Object[] popTail(int level, Object[] node) {
+        int subIndex = ((count - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[subIndex]);
+            if (newChild == null && subIndex == 0) {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[subIndex] = newChild;
+            return result;
+        }
+        if (subIndex == 0) {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[subIndex] = null;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] path = new Object[WIDTH];
+        path[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object item) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = item;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = assoc(level - BITS, (Object[]) node[subIndex], index, item);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.company.visitor;
+
+// Bloom filter over case-folded char ranges, used to reject most unknown words
+// before touching the word graph. Never gives false negatives.
+// Blocked layout: all probes of one word fall into the same 64-bit block, so a check costs one
+// memory access; the price is a slightly higher false positive rate than a classic bloom filter.
+class BloomFilter {
+    private static final int PROBES = 5;
+
+    private final long[] blocks;
+    private final int blockMask;
+
+    // About 12 bits per word, rounded up to a power-of-two number of blocks
+    BloomFilter(int expectedWords) {
+        long wanted = ((long) expectedWords * 12 + 63) >>> 6;
+        int blockCount = 1;
+        while (blockCount < wanted && blockCount < 1 << 30) {
+            blockCount <<= 1;
+        }
+        this.blocks = new long[blockCount];
+        this.blockMask = blocks.length - 1;
+    }
+
+    void add(CharSequence text) {
+        long hash = hash(text, 0, text.length());
+        blocks[(int) hash & blockMask] |= pattern(hash);
+    }
+
+    boolean mightContain(CharSequence text, int from, int to) {
+        long hash = hash(text, from, to);
+        long pattern = pattern(hash);
+        return (blocks[(int) hash & blockMask] & pattern) == pattern;
+    }
+
+    // PROBES bit positions taken from hash bits 30 and up, which never pick the block
+    private static long pattern(long hash) {
+        long pattern = 0;
+        for (int i = 0; i < PROBES; i++) {
+            pattern |= 1L << (hash >>> (30 + 6 * i));
+        }
+        return pattern;
+    }
+
+    long memoryBytes() {
+        return 8L * blocks.length;
+    }
+
+    // FNV-1a over lower-cased chars, followed by a 64-bit finalizer to spread the bits
+    private static long hash(CharSequence text, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= SpellingDictionary.foldCase(text.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,92 @@
+package com.company.visitor;
+
+import java.util.Arrays;
+
+// Applies a ResultVisitor incrementally: the result of every element is cached together with
+// the element's version, and a later apply only revisits elements that were replaced or modified
+// since then. Element results are also pre-combined per block of BLOCK_SIZE positions, so after
+// a single edit only one block is re-combined before the block results are combined in document
+// order into a fresh result. The outcome equals document.applyVisitor(visitor).
+// Elements that report DocumentElement.UNVERSIONED are revisited on every apply.
+// Cache slots follow element positions.
+public class CachedResultVisitor<R> {
+    private static final int BLOCK_SIZE = 256;
+
+    private final ResultVisitor<R> visitor;
+    private DocumentElement[] elements = new DocumentElement[0];
+    private long[] versions = new long[0];
+    private Object[] results = new Object[0];
+    private Object[] blockResults = new Object[0];
+    private long hits;
+    private long misses;
+
+    public CachedResultVisitor(ResultVisitor<R> visitor) {
+        this.visitor = visitor;
+    }
+
+    public R apply(Document document) {
+        int size = document.size();
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        if (elements.length != size) {
+            elements = Arrays.copyOf(elements, size);
+            versions = Arrays.copyOf(versions, size);
+            results = Arrays.copyOf(results, size);
+            // The last block may have gained or lost elements
+            blockResults = Arrays.copyOf(blockResults, blocks);
+            if (blocks > 0) {
+                blockResults[blocks - 1] = null;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            DocumentElement element = document.getElement(i);
+            long version = element.getVersion();
+            if (elements[i] == element && versions[i] == version && version != DocumentElement.UNVERSIONED) {
+                hits++;
+            } else {
+                misses++;
+                elements[i] = element;
+                versions[i] = version;
+                results[i] = element.accept(visitor, visitor.identity());
+                blockResults[i / BLOCK_SIZE] = null;
+            }
+        }
+
+        R total = visitor.identity();
+        for (int block = 0; block < blocks; block++) {
+            if (blockResults[block] == null) {
+                R blockResult = visitor.identity();
+                for (int i = block * BLOCK_SIZE, end = Math.min(size, i + BLOCK_SIZE); i < end; i++) {
+                    blockResult = visitor.combine(blockResult, cached(results, i));
+                }
+                blockResults[block] = blockResult;
+            }
+            total = visitor.combine(total, cached(blockResults, block));
+        }
+        return total;
+    }
+
+    public void invalidate() {
+        elements = new DocumentElement[0];
+        versions = new long[0];
+        results = new Object[0];
+        blockResults = new Object[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R cached(Object[] slots, int index) {
+        return (R) slots[index];
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.visitor;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+// Row-based String[][] tables vs dictionary-encoded columnar tables with few distinct values per column.
+// Arguments: total cells (default 10000000), columns (default 10), distinct values per column (default 20).
+// 10^7 cells need about -Xmx3g for the row-based copy.
+public class ColumnarTableBenchmark {
+    public static void main(String[] args) {
+        int cells = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int cardinality = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int rows = cells / columns;
+
+        // Cells are fresh String objects, as they would be after parsing a file
+        long before = usedHeap();
+        String[][] data = new String[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                data[row][column] = new String(value(row, column, cardinality));
+            }
+        }
+        Table rowTable = new Table(data);
+        long rowBytes = usedHeap() - before;
+
+        before = usedHeap();
+        DictionaryColumn[] encoded = new DictionaryColumn[columns];
+        for (int column = 0; column < columns; column++) {
+            encoded[column] = new DictionaryColumn(rows);
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                encoded[column].add(new String(value(row, column, cardinality)));
+            }
+        }
+        Table columnarTable = new Table(encoded);
+        long columnarBytes = usedHeap() - before;
+
+        System.out.println(rows * (long) columns + " cells, " + cardinality + " distinct values per column");
+        System.out.println("Memory: String[][] " + rowBytes / 1_000_000 + " MB (" + rowBytes / cells
+                + " bytes/cell), columnar " + columnarBytes / 1_000_000 + " MB (" + columnarBytes / cells
+                + " bytes/cell)");
+
+        String wanted = value(0, 3, cardinality);
+        for (int round = 0; round < 5; round++) {
+            boolean report = round == 4;
+
+            long start = System.nanoTime();
+            long rowMatches = 0;
+            for (int row = 0; row < rows; row++) {
+                if (wanted.equals(data[row][3])) {
+                    rowMatches++;
+                }
+            }
+            long rowFilter = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long columnarMatches = 0;
+            DictionaryColumn category = columnarTable.getColumn(3);
+            int code = category.codeOf(wanted);
+            for (int row = 0; row < rows; row++) {
+                if (category.getCode(row) == code) {
+                    columnarMatches++;
+                }
+            }
+            long columnarFilter = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Map<String, Integer> rowGroups = new HashMap<>();
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    rowGroups.merge(data[row][column], 1, Integer::sum);
+                }
+            }
+            long rowGroup = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long checksum = 0;
+            for (int column = 0; column < columns; column++) {
+                DictionaryColumn dictionaryColumn = columnarTable.getColumn(column);
+                int[] counts = new int[dictionaryColumn.getCardinality()];
+                for (int row = 0; row < rows; row++) {
+                    counts[dictionaryColumn.getCode(row)]++;
+                }
+                checksum += counts[0];
+            }
+            long columnarGroup = System.nanoTime() - start;
+
+            long rowExport = export(rowTable);
+            long columnarExport = export(columnarTable);
+
+            if (rowMatches != columnarMatches || checksum == 0) {
+                throw new IllegalStateException("Row and columnar scans disagree");
+            }
+            if (report) {
+                System.out.println("Filter one column: String[][] " + rowFilter / 1_000 + " us, columnar "
+                        + columnarFilter / 1_000 + " us");
+                System.out.println("Count values in all columns: String[][] " + rowGroup / 1_000_000
+                        + " ms, columnar " + columnarGroup / 1_000_000 + " ms");
+                System.out.println("StreamingHtmlExporter: String[][] " + rowExport + " MB/s, columnar "
+                        + columnarExport + " MB/s");
+            }
+        }
+    }
+
+    private static String value(int row, int column, int cardinality) {
+        return "Category " + column + "-" + ((row * 7 + column * 13) % cardinality);
+    }
+
+    private static long export(Table table) {
+        long[] bytes = new long[1];
+        WritableByteChannel discard = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer source) {
+                int written = source.remaining();
+                source.position(source.limit());
+                bytes[0] += written;
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        StreamingHtmlExporter exporter = new StreamingHtmlExporter(discard);
+        long start = System.nanoTime();
+        exporter.visit(table);
+        exporter.flush();
+        return bytes[0] * 1_000L / Math.max(1, System.nanoTime() - start);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
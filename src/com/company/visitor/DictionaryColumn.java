@@ -0,0 +1,139 @@
+package com.company.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One table column stored as an int code per row plus a dictionary of its distinct values.
+// Repeated values are stored once, and scans can compare or count codes instead of Strings.
+// Codes are assigned in order of first appearance. set() can leave values that no row uses any
+// more; once they make up more than half of the dictionary it is compacted, which renumbers the
+// codes, so codes are only stable while the column is not modified (see getVersion).
+public class DictionaryColumn {
+    private static final int MIN_COMPACT_UNUSED = 16;
+
+    private List<String> values = new ArrayList<>();
+    private final Map<String, Integer> codesByValue = new HashMap<>();
+    private int[] codes;
+    private int size;
+    private int[] rowsPerCode = new int[16];
+    private int unused;
+    private long version;
+
+    public DictionaryColumn() {
+        this(16);
+    }
+
+    public DictionaryColumn(int expectedRows) {
+        this.codes = new int[Math.max(1, expectedRows)];
+    }
+
+    public void add(String value) {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, codes.length * 2);
+        }
+        codes[size++] = encode(value);
+        version++;
+    }
+
+    public void set(int row, String value) {
+        checkRow(row);
+        int oldCode = codes[row];
+        codes[row] = encode(value);
+        if (--rowsPerCode[oldCode] == 0) {
+            unused++;
+            if (unused >= MIN_COMPACT_UNUSED && unused * 2 > values.size()) {
+                compact();
+            }
+        }
+        version++;
+    }
+
+    public String get(int row) {
+        checkRow(row);
+        return values.get(codes[row]);
+    }
+
+    public int getCode(int row) {
+        checkRow(row);
+        return codes[row];
+    }
+
+    public String getValue(int code) {
+        return values.get(code);
+    }
+
+    // The code of value, or -1 if it does not occur in the column
+    public int codeOf(String value) {
+        Integer code = codesByValue.get(value);
+        return code == null ? -1 : code;
+    }
+
+    // Number of distinct values; codes range from 0 to getCardinality() - 1
+    public int getCardinality() {
+        return values.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Incremented by every change, so tables holding this column can tell it was edited
+    public long getVersion() {
+        return version;
+    }
+
+    // Approximate heap use: the code array plus one String (and a map entry) per distinct value
+    public long getMemoryBytes() {
+        long bytes = 16 + 4L * codes.length + 4L * rowsPerCode.length;
+        for (String value : values) {
+            bytes += value == null ? 48 : 48 + 24 + value.length() * 2L;
+        }
+        return bytes;
+    }
+
+    private int encode(String value) {
+        Integer code = codesByValue.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codesByValue.put(value, code);
+            if (code == rowsPerCode.length) {
+                rowsPerCode = Arrays.copyOf(rowsPerCode, code * 2);
+            }
+        } else if (rowsPerCode[code] == 0) {
+            unused--; // an unused value is used again
+        }
+        rowsPerCode[code]++;
+        return code;
+    }
+
+    // Drops values no row uses and renumbers the rest, keeping their order
+    private void compact() {
+        int[] newCodes = new int[values.size()];
+        List<String> kept = new ArrayList<>(values.size() - unused);
+        codesByValue.clear();
+        for (int code = 0; code < values.size(); code++) {
+            if (rowsPerCode[code] > 0) {
+                newCodes[code] = kept.size();
+                rowsPerCode[kept.size()] = rowsPerCode[code];
+                codesByValue.put(values.get(code), kept.size());
+                kept.add(values.get(code));
+            }
+        }
+        Arrays.fill(rowsPerCode, kept.size(), rowsPerCode.length, 0);
+        for (int row = 0; row < size; row++) {
+            codes[row] = newCodes[codes[row]];
+        }
+        values = kept;
+        unused = 0;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+}
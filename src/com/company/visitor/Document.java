@@ -2,8 +2,12 @@ package com.company.visitor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class Document {
+    private static final int DEFAULT_SPLIT_THRESHOLD = 4_096;
+
     private List<DocumentElement> elements = new ArrayList<>();
 
     public void addElement(DocumentElement element) {
@@ -15,5 +19,81 @@ public class Document {
             element.accept(visitor);
         }
     }
-}
 
+    // Applies all visitors in a single walk over the elements instead of one walk per visitor.
+    public void applyVisitors(DocumentVisitor... visitors) {
+        if (visitors.length == 1) {
+            applyVisitor(visitors[0]);
+        } else {
+            applyVisitor(new FusedVisitor(visitors));
+        }
+    }
+
+    public <R> R applyVisitor(ResultVisitor<R> visitor) {
+        return fold(visitor, 0, elements.size());
+    }
+
+    // Folds element ranges of about DEFAULT_SPLIT_THRESHOLD elements on the common fork/join pool
+    public <R> R applyVisitorInParallel(ResultVisitor<R> visitor) {
+        return applyVisitorInParallel(visitor, ForkJoinPool.commonPool(), DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    // Ranges larger than splitThreshold are halved; partial results are combined left to right,
+    // so the result equals the sequential applyVisitor(ResultVisitor). The document must not be
+    // modified while the visitor runs.
+    public <R> R applyVisitorInParallel(ResultVisitor<R> visitor, ForkJoinPool pool, int splitThreshold) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("splitThreshold must be at least 1");
+        }
+        if (elements.size() <= splitThreshold) {
+            return applyVisitor(visitor);
+        }
+        return pool.invoke(new RangeTask<>(this, visitor, 0, elements.size(), splitThreshold));
+    }
+
+    private <R> R fold(ResultVisitor<R> visitor, int from, int to) {
+        R partial = visitor.identity();
+        for (int i = from; i < to; i++) {
+            partial = elements.get(i).accept(visitor, partial);
+        }
+        return partial;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public DocumentElement getElement(int index) {
+        return elements.get(index);
+    }
+
+    private static class RangeTask<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Document document;
+        private final ResultVisitor<R> visitor;
+        private final int from;
+        private final int to;
+        private final int splitThreshold;
+
+        RangeTask(Document document, ResultVisitor<R> visitor, int from, int to, int splitThreshold) {
+            this.document = document;
+            this.visitor = visitor;
+            this.from = from;
+            this.to = to;
+            this.splitThreshold = splitThreshold;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= splitThreshold) {
+                return document.fold(visitor, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask<R> right = new RangeTask<>(document, visitor, middle, to, splitThreshold);
+            right.fork();
+            R left = new RangeTask<>(document, visitor, from, middle, splitThreshold).compute();
+            return visitor.combine(left, right.join());
+        }
+    }
+}
@@ -2,4 +2,17 @@ package com.company.visitor;
 
 public interface DocumentElement {
     void accept(DocumentVisitor visitor);
+
+    // Returned by elements that do not track changes; their cached results are never reused
+    long UNVERSIONED = -1;
+
+    // Increases whenever the element's content changes through its setters
+    default long getVersion() {
+        return UNVERSIONED;
+    }
+
+    // Elements that do not dispatch themselves are passed to ResultVisitor.visitOther
+    default <R> R accept(ResultVisitor<R> visitor, R partial) {
+        return visitor.visitOther(this, partial);
+    }
 }
@@ -16,12 +16,25 @@ public class DocumentProcessingClient {
         document.applyVisitor(renderer);
 
         // Apply Spell Checker Visitor
-        SpellCheckerVisitor spellChecker = new SpellCheckerVisitor();
+        SpellingDictionary dictionary = SpellingDictionary.of("this", "is", "a", "paragraph", "header", "data");
+        SpellCheckerVisitor spellChecker = new SpellCheckerVisitor(dictionary);
         document.applyVisitor(spellChecker);
+        System.out.println("Misspellings: " + spellChecker.getMisspellings());
 
         // Apply Exporter Visitor
         ExporterVisitor exporter = new ExporterVisitor();
         document.applyVisitor(exporter);
+
+        // Apply all three in a single pass over the document. The spell checker collects
+        // misspellings, so the fused pass gets a fresh one instead of adding to the first
+        System.out.println();
+        SpellCheckerVisitor fusedSpellChecker = new SpellCheckerVisitor(dictionary);
+        document.applyVisitors(renderer, fusedSpellChecker, exporter);
+        System.out.println("Misspellings: " + fusedSpellChecker.getMisspellings());
+
+        // Result-producing visitors can also run in parallel over element ranges
+        System.out.println();
+        System.out.println("Word counts: " + document.applyVisitorInParallel(new WordCountVisitor()));
     }
 }
 
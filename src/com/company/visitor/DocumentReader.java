@@ -0,0 +1,213 @@
+package com.company.visitor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Pull parser for the format written by DocumentWriter: each next() call reads just enough
+// input for one element. Input is read through one fixed-size byte buffer and lines are
+// assembled in a reusable scratch array, so memory depends on the largest element, never on
+// the document size. Lines longer than maxLineBytes are rejected instead of growing without bound.
+// Table sizes in the input are not trusted for allocation: rows are allocated as they are read.
+public class DocumentReader implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_LINE_BYTES = 16 * 1024 * 1024;
+    private static final int INITIAL_TABLE_ROWS = 1024;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private final int maxLineBytes;
+    private int position;
+    private int limit;
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private long lineNumber;
+    private long bytesRead;
+
+    public DocumentReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_LINE_BYTES);
+    }
+
+    public DocumentReader(InputStream in, int bufferSize, int maxLineBytes) {
+        if (bufferSize < 1 || maxLineBytes < 1) {
+            throw new IllegalArgumentException("bufferSize and maxLineBytes must be positive");
+        }
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    // Returns the next element, or null at the end of the input
+    public DocumentElement next() throws IOException {
+        if (!readLine()) {
+            return null;
+        }
+        if (lineLength < 2 || line[1] != '\t') {
+            throw malformed("expected a record type followed by a tab");
+        }
+        switch (line[0]) {
+            case 'P':
+                return new Paragraph(field(2, lineLength));
+            case 'I':
+                return new Image(field(2, lineLength));
+            case 'T':
+                return readTable();
+            default:
+                throw malformed("unknown record type '" + (char) line[0] + "'");
+        }
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Table readTable() throws IOException {
+        int tab = indexOf('\t', 2, lineLength);
+        if (tab < 0) {
+            throw malformed("expected row and column counts");
+        }
+        int rows = parseCount(2, tab);
+        int columns = parseCount(tab + 1, lineLength);
+        if (columns - 1L > maxLineBytes) {
+            throw malformed("table has more columns than a line can hold");
+        }
+        String[][] data = new String[Math.min(rows, INITIAL_TABLE_ROWS)][];
+        for (int row = 0; row < rows; row++) {
+            if (!readLine()) {
+                throw malformed("table ends after " + row + " of " + rows + " rows");
+            }
+            if (columns - 1 > lineLength) {
+                throw malformed("expected " + columns + " cells");
+            }
+            if (row == data.length) {
+                data = Arrays.copyOf(data, (int) Math.min(rows, 2L * data.length));
+            }
+            String[] cells = new String[columns];
+            int start = 0;
+            for (int column = 0; column < columns; column++) {
+                int end = indexOf('\t', start, lineLength);
+                if (column == columns - 1 && end < 0) {
+                    end = lineLength;
+                } else if (end < 0 || column == columns - 1) {
+                    throw malformed("expected " + columns + " cells");
+                }
+                cells[column] = field(start, end);
+                start = end + 1;
+            }
+            data[row] = cells;
+        }
+        return new Table(data);
+    }
+
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean any = false;
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read < 0) {
+                    if (any) {
+                        lineNumber++;
+                    }
+                    return any;
+                }
+                position = 0;
+                limit = read;
+                bytesRead += read;
+            }
+            any = true;
+            int end = position;
+            while (end < limit && buffer[end] != '\n') {
+                end++;
+            }
+            append(position, end);
+            if (end < limit) {
+                position = end + 1;
+                lineNumber++;
+                return true;
+            }
+            position = limit;
+        }
+    }
+
+    private void append(int from, int to) throws IOException {
+        int length = to - from;
+        if (lineLength + length > maxLineBytes) {
+            throw malformed("line longer than " + maxLineBytes + " bytes");
+        }
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.min(maxLineBytes, Math.max(lineLength + length, line.length * 2)));
+        }
+        System.arraycopy(buffer, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    // Unescapes line[from, to) in place and decodes it; escapes never make the text longer.
+    // A field consisting of just \N is a null value.
+    private String field(int from, int to) throws IOException {
+        if (to - from == 2 && line[from] == '\\' && line[from + 1] == 'N') {
+            return null;
+        }
+        int write = from;
+        for (int read = from; read < to; read++) {
+            byte b = line[read];
+            if (b == '\\') {
+                if (++read == to) {
+                    throw malformed("dangling escape");
+                }
+                switch (line[read]) {
+                    case '\\':
+                        b = '\\';
+                        break;
+                    case 't':
+                        b = '\t';
+                        break;
+                    case 'n':
+                        b = '\n';
+                        break;
+                    case 'r':
+                        b = '\r';
+                        break;
+                    default:
+                        throw malformed("unknown escape \\" + (char) line[read]);
+                }
+            }
+            line[write++] = b;
+        }
+        return new String(line, from, write - from, StandardCharsets.UTF_8);
+    }
+
+    private int parseCount(int from, int to) throws IOException {
+        if (from == to || to - from > 9) {
+            throw malformed("bad table size");
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            if (line[i] < '0' || line[i] > '9') {
+                throw malformed("bad table size");
+            }
+            value = value * 10 + (line[i] - '0');
+        }
+        return value;
+    }
+
+    private int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (line[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private IOException malformed(String message) {
+        return new IOException("Malformed document at line " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,114 @@
+package com.company.visitor;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Writes elements in the line-based document format read by DocumentReader (UTF-8):
+//   P<tab>text
+//   I<tab>image path
+//   T<tab>rows<tab>columns, followed by one line per row with tab-separated cells
+// Backslash, tab, CR and LF inside text are escaped as \\, \t, \r and \n; a null value
+// (e.g. an empty columnar table cell) is written as \N.
+// Visiting a Document with it saves the document; I/O failures surface as UncheckedIOException.
+public class DocumentWriter implements DocumentVisitor, Flushable, Closeable {
+    private final Writer out;
+
+    public DocumentWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void visit(Paragraph paragraph) {
+        try {
+            out.write("P\t");
+            writeEscaped(paragraph.getText());
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(Image image) {
+        try {
+            out.write("I\t");
+            writeEscaped(image.getImagePath());
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void visit(Table table) {
+        int rows = table.getRowCount();
+        int columns = table.getColumnCount();
+        try {
+            out.write("T\t" + rows + "\t" + columns + "\n");
+            for (int row = 0; row < rows; row++) {
+                if (table.getRowLength(row) != columns) {
+                    throw new IllegalArgumentException("Table rows must all have " + columns + " cells");
+                }
+                for (int column = 0; column < columns; column++) {
+                    if (column > 0) {
+                        out.write('\t');
+                    }
+                    writeEscaped(table.getCell(row, column));
+                }
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeEscaped(String text) throws IOException {
+        if (text == null) {
+            out.write("\\N");
+            return;
+        }
+        int plain = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char escape;
+            switch (c) {
+                case '\\':
+                    escape = '\\';
+                    break;
+                case '\t':
+                    escape = 't';
+                    break;
+                case '\n':
+                    escape = 'n';
+                    break;
+                case '\r':
+                    escape = 'r';
+                    break;
+                default:
+                    continue;
+            }
+            out.write(text, plain, i - plain);
+            out.write('\\');
+            out.write(escape);
+            plain = i + 1;
+        }
+        out.write(text, plain, text.length() - plain);
+    }
+}
@@ -15,10 +15,10 @@ public class ExporterVisitor implements DocumentVisitor {
     public void visit(Table table) {
         System.out.println("Exporting table:");
         System.out.println("<table>");
-        for (String[] row : table.getData()) {
+        for (int row = 0; row < table.getRowCount(); row++) {
             System.out.println("<tr>");
-            for (String cell : row) {
-                System.out.println("<td>" + cell + "</td>");
+            for (int column = 0; column < table.getRowLength(row); column++) {
+                System.out.println("<td>" + table.getCell(row, column) + "</td>");
             }
             System.out.println("</tr>");
         }
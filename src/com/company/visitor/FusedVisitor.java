@@ -0,0 +1,57 @@
+package com.company.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Dispatches each element to several visitors in one pass over the document.
+// Visitors are called in the order given, so every visitor still sees the elements
+// in document order, and for any one element visitor i runs before visitor i + 1.
+public class FusedVisitor implements DocumentVisitor {
+    private final DocumentVisitor[] visitors;
+
+    public FusedVisitor(DocumentVisitor... visitors) {
+        this(Arrays.asList(visitors));
+    }
+
+    public FusedVisitor(List<? extends DocumentVisitor> visitors) {
+        List<DocumentVisitor> flattened = new ArrayList<>(visitors.size());
+        for (DocumentVisitor visitor : visitors) {
+            if (visitor == null) {
+                throw new IllegalArgumentException("visitor must not be null");
+            }
+            // Nested fused visitors are inlined so dispatch stays one level deep
+            if (visitor instanceof FusedVisitor) {
+                flattened.addAll(Arrays.asList(((FusedVisitor) visitor).visitors));
+            } else {
+                flattened.add(visitor);
+            }
+        }
+        this.visitors = flattened.toArray(new DocumentVisitor[0]);
+    }
+
+    public List<DocumentVisitor> getVisitors() {
+        return Arrays.asList(visitors.clone());
+    }
+
+    @Override
+    public void visit(Paragraph paragraph) {
+        for (DocumentVisitor visitor : visitors) {
+            visitor.visit(paragraph);
+        }
+    }
+
+    @Override
+    public void visit(Image image) {
+        for (DocumentVisitor visitor : visitors) {
+            visitor.visit(image);
+        }
+    }
+
+    @Override
+    public void visit(Table table) {
+        for (DocumentVisitor visitor : visitors) {
+            visitor.visit(table);
+        }
+    }
+}
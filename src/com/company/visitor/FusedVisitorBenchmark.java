@@ -0,0 +1,143 @@
+package com.company.visitor;
+
+import java.util.Random;
+
+// Three visitors applied one after another vs fused into a single pass.
+// Argument: element count (default 1000000).
+public class FusedVisitorBenchmark {
+    public static void main(String[] args) {
+        int elementCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Document document = buildDocument(elementCount, new Random(11));
+        System.out.println(elementCount + " elements");
+
+        for (int round = 0; round < 5; round++) {
+            boolean report = round == 4;
+
+            LengthVisitor length = new LengthVisitor();
+            WordVisitor words = new WordVisitor();
+            CellVisitor cells = new CellVisitor();
+            long start = System.nanoTime();
+            document.applyVisitor(length);
+            document.applyVisitor(words);
+            document.applyVisitor(cells);
+            long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+            long sequentialChecksum = length.total * 31 * 31 + words.total * 31 + cells.total;
+
+            length = new LengthVisitor();
+            words = new WordVisitor();
+            cells = new CellVisitor();
+            start = System.nanoTime();
+            document.applyVisitors(length, words, cells);
+            long fusedMillis = (System.nanoTime() - start) / 1_000_000;
+            long fusedChecksum = length.total * 31 * 31 + words.total * 31 + cells.total;
+
+            if (sequentialChecksum != fusedChecksum) {
+                throw new IllegalStateException("Fused and sequential results differ");
+            }
+            if (report) {
+                System.out.println("Sequential (3 passes): " + sequentialMillis + " ms, fused (1 pass): "
+                        + fusedMillis + " ms");
+            }
+        }
+    }
+
+    static Document buildDocument(int elementCount, Random random) {
+        String[] words = {"visitor", "document", "paragraph", "table", "image", "export", "render", "spell"};
+        Document document = new Document();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < elementCount; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 7) {
+                text.setLength(0);
+                int wordCount = 5 + random.nextInt(20);
+                for (int w = 0; w < wordCount; w++) {
+                    if (w > 0) {
+                        text.append(' ');
+                    }
+                    text.append(words[random.nextInt(words.length)]);
+                }
+                document.addElement(new Paragraph(text.toString()));
+            } else if (kind < 9) {
+                document.addElement(new Image("images/img" + i + ".png"));
+            } else {
+                String[][] data = new String[4][3];
+                for (String[] row : data) {
+                    for (int c = 0; c < row.length; c++) {
+                        row[c] = words[random.nextInt(words.length)];
+                    }
+                }
+                document.addElement(new Table(data));
+            }
+        }
+        return document;
+    }
+
+    private static class LengthVisitor implements DocumentVisitor {
+        long total;
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            total += paragraph.getText().length();
+        }
+
+        @Override
+        public void visit(Image image) {
+            total += image.getImagePath().length();
+        }
+
+        @Override
+        public void visit(Table table) {
+            for (String[] row : table.getData()) {
+                for (String cell : row) {
+                    total += cell.length();
+                }
+            }
+        }
+    }
+
+    private static class WordVisitor implements DocumentVisitor {
+        long total;
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            String text = paragraph.getText();
+            boolean inWord = false;
+            for (int i = 0; i < text.length(); i++) {
+                boolean letter = text.charAt(i) != ' ';
+                if (letter && !inWord) {
+                    total++;
+                }
+                inWord = letter;
+            }
+        }
+
+        @Override
+        public void visit(Image image) {
+        }
+
+        @Override
+        public void visit(Table table) {
+            for (String[] row : table.getData()) {
+                total += row.length;
+            }
+        }
+    }
+
+    private static class CellVisitor implements DocumentVisitor {
+        long total;
+
+        @Override
+        public void visit(Paragraph paragraph) {
+        }
+
+        @Override
+        public void visit(Image image) {
+            total += image.getImagePath().hashCode() & 0xFF;
+        }
+
+        @Override
+        public void visit(Table table) {
+            total += table.getData().length;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.company.visitor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the same HTML as ExporterVisitor in memory instead of printing it.
+// Each element range writes into its own chunk. combine copies small chunks of the right-hand
+// result into the left's last chunk and only links large ones, so merging never copies much
+// HTML, the chunk list does not grow with the split depth, and the right-hand result is never
+// modified.
+public class HtmlFragmentVisitor implements ResultVisitor<HtmlFragmentVisitor.Html> {
+    // Chunks up to this many characters are copied by combine instead of linked
+    private static final int MERGE_LIMIT = 8192;
+
+    public static class Html {
+        private final List<StringBuilder> chunks = new ArrayList<>(1);
+        private long length;
+        // The last chunk was linked from another result, so it must not be appended to
+        private boolean lastShared;
+
+        Html() {
+            chunks.add(new StringBuilder());
+        }
+
+        public long length() {
+            return length;
+        }
+
+        public void writeTo(Appendable out) throws IOException {
+            for (StringBuilder chunk : chunks) {
+                out.append(chunk);
+            }
+        }
+
+        private StringBuilder current() {
+            if (lastShared) {
+                chunks.add(new StringBuilder());
+                lastShared = false;
+            }
+            return chunks.get(chunks.size() - 1);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder html = new StringBuilder((int) Math.min(Integer.MAX_VALUE - 8, length));
+            for (StringBuilder chunk : chunks) {
+                html.append(chunk);
+            }
+            return html.toString();
+        }
+    }
+
+    @Override
+    public Html identity() {
+        return new Html();
+    }
+
+    @Override
+    public Html visit(Paragraph paragraph, Html partial) {
+        StringBuilder out = partial.current();
+        int before = out.length();
+        out.append("<p>").append(paragraph.getText()).append("</p>\n");
+        partial.length += out.length() - before;
+        return partial;
+    }
+
+    @Override
+    public Html visit(Image image, Html partial) {
+        StringBuilder out = partial.current();
+        int before = out.length();
+        out.append("<img src=\"").append(image.getImagePath()).append("\"/>\n");
+        partial.length += out.length() - before;
+        return partial;
+    }
+
+    @Override
+    public Html visit(Table table, Html partial) {
+        StringBuilder out = partial.current();
+        int before = out.length();
+        out.append("<table>\n");
+        for (int row = 0; row < table.getRowCount(); row++) {
+            out.append("<tr>\n");
+            for (int column = 0; column < table.getRowLength(row); column++) {
+                out.append("<td>").append(table.getCell(row, column)).append("</td>\n");
+            }
+            out.append("</tr>\n");
+        }
+        out.append("</table>\n");
+        partial.length += out.length() - before;
+        return partial;
+    }
+
+    @Override
+    public Html combine(Html left, Html right) {
+        for (StringBuilder chunk : right.chunks) {
+            if (chunk.length() <= MERGE_LIMIT) {
+                left.current().append(chunk);
+            } else {
+                int last = left.chunks.size() - 1;
+                if (!left.lastShared && left.chunks.get(last).length() == 0) {
+                    left.chunks.set(last, chunk);
+                } else {
+                    left.chunks.add(chunk);
+                }
+                left.lastShared = true;
+            }
+        }
+        left.length += right.length;
+        return left;
+    }
+}
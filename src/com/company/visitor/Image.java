@@ -2,6 +2,7 @@ package com.company.visitor;
 
 public class Image implements DocumentElement {
     private String imagePath;
+    private long version;
 
     public Image(String imagePath) {
         this.imagePath = imagePath;
@@ -11,9 +12,24 @@ public class Image implements DocumentElement {
         return imagePath;
     }
 
+    public void setImagePath(String imagePath) {
+        this.imagePath = imagePath;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public void accept(DocumentVisitor visitor) {
         visitor.visit(this);
     }
+
+    @Override
+    public <R> R accept(ResultVisitor<R> visitor, R partial) {
+        return visitor.visit(this, partial);
+    }
 }
 
@@ -0,0 +1,55 @@
+package com.company.visitor;
+
+import java.util.Random;
+
+// Re-applying result visitors after editing one element: full re-visit vs CachedResultVisitor.
+// Argument: element count (default 100000).
+public class IncrementalVisitorBenchmark {
+    public static void main(String[] args) {
+        int elementCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(11);
+        Document document = FusedVisitorBenchmark.buildDocument(elementCount, random);
+        System.out.println(elementCount + " elements");
+
+        run("WordCountVisitor", document, new WordCountVisitor(), random);
+        run("HtmlFragmentVisitor", document, new HtmlFragmentVisitor(), random);
+    }
+
+    private static <R> void run(String name, Document document, ResultVisitor<R> visitor, Random random) {
+        CachedResultVisitor<R> cached = new CachedResultVisitor<>(visitor);
+        cached.apply(document);
+
+        int edits = 200;
+        long fullNanos = 0;
+        long cachedNanos = 0;
+        for (int edit = 0; edit < edits; edit++) {
+            DocumentElement element = document.getElement(random.nextInt(document.size()));
+            if (element instanceof Paragraph) {
+                Paragraph paragraph = (Paragraph) element;
+                paragraph.setText(paragraph.getText() + " edited");
+            } else if (element instanceof Table) {
+                Table table = (Table) element;
+                table.setCell(0, 0, table.getData()[0][0] + "x");
+            } else {
+                Image image = (Image) element;
+                image.setImagePath(image.getImagePath() + "?v=" + edit);
+            }
+
+            long start = System.nanoTime();
+            R full = document.applyVisitor(visitor);
+            fullNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            R incremental = cached.apply(document);
+            cachedNanos += System.nanoTime() - start;
+
+            if (!full.equals(incremental) && !full.toString().equals(incremental.toString())) {
+                throw new IllegalStateException(name + ": cached result differs after edit " + edit);
+            }
+        }
+        System.out.println(name + ": full " + fullNanos / edits / 1_000 + " us, cached "
+                + cachedNanos / edits / 1_000 + " us per re-apply (speedup "
+                + String.format("%.1f", (double) fullNanos / cachedNanos) + "x), hit ratio "
+                + String.format("%.5f", cached.getHitRatio()));
+    }
+}
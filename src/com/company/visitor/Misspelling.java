@@ -0,0 +1,48 @@
+package com.company.visitor;
+
+// A word not found in the dictionary. element is the position of the element in visiting order;
+// row and column locate the table cell and are -1 for paragraphs; offset is the char index of the word
+// in the paragraph text or cell.
+public class Misspelling {
+    private final String word;
+    private final int element;
+    private final int row;
+    private final int column;
+    private final int offset;
+
+    public Misspelling(String word, int element, int row, int column, int offset) {
+        this.word = word;
+        this.element = element;
+        this.row = row;
+        this.column = column;
+        this.offset = offset;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getElement() {
+        return element;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        if (row < 0) {
+            return "\"" + word + "\" in element " + element + " at " + offset;
+        }
+        return "\"" + word + "\" in element " + element + ", cell (" + row + ", " + column + ") at " + offset;
+    }
+}
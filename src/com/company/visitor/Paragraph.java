@@ -2,6 +2,7 @@ package com.company.visitor;
 
 public class Paragraph implements DocumentElement {
     private String text;
+    private long version;
 
     public Paragraph(String text) {
         this.text = text;
@@ -11,9 +12,24 @@ public class Paragraph implements DocumentElement {
         return text;
     }
 
+    public void setText(String text) {
+        this.text = text;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public void accept(DocumentVisitor visitor) {
         visitor.visit(this);
     }
+
+    @Override
+    public <R> R accept(ResultVisitor<R> visitor, R partial) {
+        return visitor.visit(this, partial);
+    }
 }
 
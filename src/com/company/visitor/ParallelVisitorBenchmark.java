@@ -0,0 +1,49 @@
+package com.company.visitor;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Result-producing visitors folded sequentially vs on fork/join pools of increasing size.
+// Argument: element count (default 1000000).
+public class ParallelVisitorBenchmark {
+    public static void main(String[] args) {
+        int elementCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Document document = FusedVisitorBenchmark.buildDocument(elementCount, new Random(11));
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println(elementCount + " elements, " + cores + " cores");
+
+        WordCountVisitor wordCount = new WordCountVisitor();
+        HtmlFragmentVisitor html = new HtmlFragmentVisitor();
+        Map<String, Integer> expectedCounts = null;
+        long expectedLength = 0;
+        long sequentialMillis = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            expectedCounts = document.applyVisitor(wordCount);
+            expectedLength = document.applyVisitor(html).length();
+            sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+        }
+        System.out.println("Sequential: " + sequentialMillis + " ms");
+
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long millis = 0;
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                Map<String, Integer> counts = document.applyVisitorInParallel(wordCount, pool, 4_096);
+                long length = document.applyVisitorInParallel(html, pool, 4_096).length();
+                millis = (System.nanoTime() - start) / 1_000_000;
+                if (!counts.equals(expectedCounts) || length != expectedLength) {
+                    throw new IllegalStateException("Parallel and sequential results differ");
+                }
+            }
+            pool.shutdown();
+            System.out.println(threads + " thread(s): " + millis + " ms, speedup "
+                    + String.format("%.2f", (double) sequentialMillis / Math.max(1, millis)) + "x");
+            if (threads < cores && threads * 2 > cores) {
+                threads = cores / 2;
+            }
+        }
+    }
+}
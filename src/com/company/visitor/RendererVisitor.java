@@ -14,9 +14,9 @@ public class RendererVisitor implements DocumentVisitor {
     @Override
     public void visit(Table table) {
         System.out.println("Rendering table:");
-        for (String[] row : table.getData()) {
-            for (String cell : row) {
-                System.out.print(cell + "\t");
+        for (int row = 0; row < table.getRowCount(); row++) {
+            for (int column = 0; column < table.getRowLength(row); column++) {
+                System.out.print(table.getCell(row, column) + "\t");
             }
             System.out.println();
         }
@@ -0,0 +1,25 @@
+package com.company.visitor;
+
+// A visitor that folds elements into a partial result instead of keeping side effects.
+// Each visit returns the updated partial result (either the same mutable object or a new value).
+// combine must be associative and keep document order: combine(a, b) holds a's elements before b's.
+// Together with identity this lets Document split the elements into ranges, fold each range
+// on its own thread and merge the partial results.
+public interface ResultVisitor<R> {
+    // A fresh, empty partial result; called once per range
+    R identity();
+
+    R visit(Paragraph paragraph, R partial);
+
+    R visit(Image image, R partial);
+
+    R visit(Table table, R partial);
+
+    // Element types this visitor has no method for; by default they add nothing to the result
+    default R visitOther(DocumentElement element, R partial) {
+        return partial;
+    }
+
+    // May reuse and return left, but must leave right unchanged (it may be a cached result)
+    R combine(R left, R right);
+}
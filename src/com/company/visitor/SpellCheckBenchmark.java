@@ -0,0 +1,149 @@
+package com.company.visitor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Dictionary size and SpellCheckerVisitor throughput in words/sec.
+// A synthetic word list is generated from syllables, written to a temporary file and loaded from it.
+// Arguments: dictionary words (default 300000), document words (default 10000000), typo percentage (default 2).
+public class SpellCheckBenchmark {
+    private static final String[] SYLLABLES = {
+            "al", "an", "ar", "be", "ca", "con", "de", "di", "en", "er", "ex", "for", "ga", "in", "is", "la",
+            "le", "ma", "men", "mo", "na", "ne", "or", "pa", "per", "pro", "ra", "re", "ri", "sa", "se", "si",
+            "sta", "ta", "te", "ter", "ti", "to", "tion", "un", "ver", "vi"};
+    private static final String[] SUFFIXES = {"", "s", "ed", "ing", "er", "ly", "ness", "able"};
+
+    public static void main(String[] args) throws IOException {
+        int dictionaryWords = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        long documentWords = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        int typoPercent = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        Random random = new Random(5);
+        Set<String> wordSet = new HashSet<>();
+        StringBuilder word = new StringBuilder();
+        while (wordSet.size() < dictionaryWords) {
+            word.setLength(0);
+            int syllables = 1 + random.nextInt(4);
+            for (int s = 0; s < syllables; s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            word.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            wordSet.add(word.toString());
+        }
+        List<String> words = new ArrayList<>(wordSet);
+
+        Path wordList = Files.createTempFile("words", ".txt");
+        SpellingDictionary dictionary;
+        long loadMillis;
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(wordList, StandardCharsets.UTF_8)) {
+                for (String w : words) {
+                    writer.write(w);
+                    writer.newLine();
+                }
+            }
+            long start = System.nanoTime();
+            dictionary = SpellingDictionary.load(wordList);
+            loadMillis = (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            Files.delete(wordList);
+        }
+        long listBytes = 0;
+        for (String w : words) {
+            listBytes += w.length() + 1;
+        }
+        System.out.println(dictionary.getWordCount() + " words (" + listBytes / 1024 + " KB as text) loaded in "
+                + loadMillis + " ms: " + dictionary.getStateCount() + " states, "
+                + dictionary.getMemoryBytes() / 1024 + " KB including bloom filter");
+
+        // Paragraphs of about 100 words with capitalized sentence starts, punctuation and some typos
+        Document document = new Document();
+        StringBuilder text = new StringBuilder();
+        long generated = 0;
+        long expectedMisspellings = 0;
+        while (generated < documentWords) {
+            text.setLength(0);
+            for (int i = 0; i < 100 && generated < documentWords; i++, generated++) {
+                String w = words.get(random.nextInt(words.size()));
+                if (random.nextInt(100) < typoPercent) {
+                    String typo = w + "q";
+                    if (!wordSet.contains(typo)) {
+                        w = typo;
+                        expectedMisspellings++;
+                    }
+                }
+                if (i % 12 == 0) {
+                    text.append(Character.toUpperCase(w.charAt(0))).append(w, 1, w.length());
+                } else {
+                    text.append(w);
+                }
+                text.append(i % 12 == 11 ? ". " : " ");
+            }
+            document.addElement(new Paragraph(text.toString()));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            SpellCheckerVisitor checker = new SpellCheckerVisitor(dictionary);
+            long start = System.nanoTime();
+            document.applyVisitor(checker);
+            long nanos = System.nanoTime() - start;
+            if (checker.getWordsChecked() != documentWords || checker.getMisspellings().size() != expectedMisspellings) {
+                throw new IllegalStateException("Unexpected result: " + checker.getWordsChecked() + " words, "
+                        + checker.getMisspellings().size() + " misspellings, expected " + expectedMisspellings);
+            }
+            if (round == 2) {
+                System.out.println(documentWords + " words checked, " + expectedMisspellings + " misspellings: "
+                        + documentWords * 1_000_000_000L / nanos + " words/sec");
+            }
+        }
+
+        // Reference point: the same scan with substring + toLowerCase + HashSet lookups
+        for (int round = 0; round < 3; round++) {
+            HashSetChecker checker = new HashSetChecker(wordSet);
+            long start = System.nanoTime();
+            document.applyVisitor(checker);
+            long nanos = System.nanoTime() - start;
+            if (checker.misspellings != expectedMisspellings) {
+                throw new IllegalStateException("HashSet checker disagrees");
+            }
+            if (round == 2) {
+                System.out.println("HashSet<String> with substrings: " + documentWords * 1_000_000_000L / nanos
+                        + " words/sec");
+            }
+        }
+    }
+
+    private static class HashSetChecker implements DocumentVisitor {
+        private final Set<String> words;
+        long misspellings;
+
+        HashSetChecker(Set<String> words) {
+            this.words = words;
+        }
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            for (String token : paragraph.getText().split("[^\\p{L}]+")) {
+                if (!token.isEmpty() && !words.contains(token.toLowerCase())) {
+                    misspellings++;
+                }
+            }
+        }
+
+        @Override
+        public void visit(Image image) {
+        }
+
+        @Override
+        public void visit(Table table) {
+        }
+    }
+}
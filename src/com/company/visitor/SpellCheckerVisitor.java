@@ -1,26 +1,133 @@
 package com.company.visitor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Checks every word of paragraphs and table cells against a SpellingDictionary.
+// Words are runs of letters, optionally joined by single apostrophes ("don't"); tokens containing
+// digits are skipped. Words are looked up as ranges of the original text, so only misspelled
+// words are ever copied into Strings.
 public class SpellCheckerVisitor implements DocumentVisitor {
+    private final SpellingDictionary dictionary;
+    private final List<Misspelling> misspellings = new ArrayList<>();
+    private int element;
+    private long wordsChecked;
+
+    public SpellCheckerVisitor(SpellingDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
     @Override
     public void visit(Paragraph paragraph) {
-        System.out.println("Checking spelling in paragraph: " + paragraph.getText());
-        // Spell-check logic here
+        check(paragraph.getText(), -1, -1);
+        element++;
     }
 
     @Override
     public void visit(Image image) {
         // No spell-checking for images
+        element++;
     }
 
     @Override
     public void visit(Table table) {
-        System.out.println("Checking spelling in table:");
-        for (String[] row : table.getData()) {
-            for (String cell : row) {
-                System.out.println("Checking cell: " + cell);
-                // Spell-check logic here
+        if (table.isColumnar()) {
+            checkColumnar(table);
+        } else {
+            String[][] data = table.getData();
+            for (int row = 0; row < data.length; row++) {
+                for (int column = 0; column < data[row].length; column++) {
+                    check(data[row][column], row, column);
+                }
             }
         }
+        element++;
     }
-}
 
+    // Each distinct value of a column is checked once; later cells with the same value
+    // repeat its word count and misspellings at their own row
+    private void checkColumnar(Table table) {
+        int columnCount = table.getColumnCount();
+        DictionaryColumn[] columns = new DictionaryColumn[columnCount];
+        CheckedValue[][] checked = new CheckedValue[columnCount][];
+        for (int column = 0; column < columnCount; column++) {
+            columns[column] = table.getColumn(column);
+            checked[column] = new CheckedValue[columns[column].getCardinality()];
+        }
+        for (int row = 0, rows = table.getRowCount(); row < rows; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                int code = columns[column].getCode(row);
+                CheckedValue value = checked[column][code];
+                if (value == null) {
+                    long wordsBefore = wordsChecked;
+                    int misspellingsBefore = misspellings.size();
+                    check(columns[column].getValue(code), row, column);
+                    checked[column][code] = new CheckedValue(wordsChecked - wordsBefore,
+                            misspellings.subList(misspellingsBefore, misspellings.size())
+                                    .toArray(new Misspelling[0]));
+                } else {
+                    wordsChecked += value.words;
+                    for (Misspelling misspelling : value.misspellings) {
+                        misspellings.add(new Misspelling(misspelling.getWord(), element, row, column,
+                                misspelling.getOffset()));
+                    }
+                }
+            }
+        }
+    }
+
+    public List<Misspelling> getMisspellings() {
+        return Collections.unmodifiableList(misspellings);
+    }
+
+    public long getWordsChecked() {
+        return wordsChecked;
+    }
+
+    private void check(String text, int row, int column) {
+        if (text == null) { // empty cell
+            return;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean hasDigit = false;
+            while (i < length) {
+                c = text.charAt(i);
+                if (Character.isLetter(c)) {
+                    i++;
+                } else if (Character.isDigit(c)) {
+                    hasDigit = true;
+                    i++;
+                } else if (c == '\'' && i + 1 < length && Character.isLetter(text.charAt(i + 1))) {
+                    i += 2;
+                } else {
+                    break;
+                }
+            }
+            if (!hasDigit) {
+                wordsChecked++;
+                if (!dictionary.contains(text, start, i)) {
+                    misspellings.add(new Misspelling(text.substring(start, i), element, row, column, start));
+                }
+            }
+        }
+    }
+
+    private static class CheckedValue {
+        final long words;
+        final Misspelling[] misspellings;
+
+        CheckedValue(long words, Misspelling[] misspellings) {
+            this.words = words;
+            this.misspellings = misspellings;
+        }
+    }
+}
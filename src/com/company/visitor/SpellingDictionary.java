@@ -0,0 +1,107 @@
+package com.company.visitor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable, case-insensitive word set for spell checking.
+// Words are kept in a compact WordGraph; a BloomFilter in front of it answers most
+// lookups of unknown words without walking the graph.
+public class SpellingDictionary {
+    private final WordGraph graph;
+    private final BloomFilter bloomFilter;
+    private final int wordCount;
+
+    private SpellingDictionary(WordGraph graph, BloomFilter bloomFilter, int wordCount) {
+        this.graph = graph;
+        this.bloomFilter = bloomFilter;
+        this.wordCount = wordCount;
+    }
+
+    // Reads a UTF-8 word list with one word per line; blank lines and lines starting with '#' are skipped
+    public static SpellingDictionary load(Path wordList) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    words.add(line);
+                }
+            }
+        }
+        return of(words);
+    }
+
+    public static SpellingDictionary of(String... words) {
+        return of(Arrays.asList(words));
+    }
+
+    public static SpellingDictionary of(Collection<String> words) {
+        List<String> sorted = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (word.isEmpty()) {
+                throw new IllegalArgumentException("Dictionary words must not be empty");
+            }
+            sorted.add(fold(word));
+        }
+        Collections.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            if (unique == 0 || !sorted.get(i).equals(sorted.get(unique - 1))) {
+                sorted.set(unique++, sorted.get(i));
+            }
+        }
+        sorted.subList(unique, sorted.size()).clear();
+
+        BloomFilter bloomFilter = new BloomFilter(unique);
+        for (String word : sorted) {
+            bloomFilter.add(word);
+        }
+        return new SpellingDictionary(WordGraph.build(sorted), bloomFilter, unique);
+    }
+
+    public boolean contains(CharSequence word) {
+        return contains(word, 0, word.length());
+    }
+
+    // Checks text[from, to) without copying it
+    public boolean contains(CharSequence text, int from, int to) {
+        return bloomFilter.mightContain(text, from, to) && graph.contains(text, from, to);
+    }
+
+    // Case folding shared by the graph, the bloom filter and the dictionary build. It works char by
+    // char, unlike String.toLowerCase, which can change the length or depend on the context
+    // (a final capital sigma becomes a final small sigma), so stored words match the lookups.
+    static char foldCase(char c) {
+        return c < 0x80 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+    }
+
+    private static String fold(String word) {
+        char[] chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = foldCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getStateCount() {
+        return graph.stateCount();
+    }
+
+    // Approximate heap used by the graph arrays and the bloom filter
+    public long getMemoryBytes() {
+        return graph.memoryBytes() + bloomFilter.memoryBytes();
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.visitor;
+
+// Checks that dictionary words fold case the same way as the lookups, including non-ASCII words
+public class SpellingDictionaryCheck {
+
+    public static void main(String[] args) {
+        // Greek "ODOS" in capitals: String.toLowerCase turns the last sigma into a final sigma
+        expectContains("\u039F\u0394\u039F\u03A3", "\u039F\u0394\u039F\u03A3", "\u03BF\u03B4\u03BF\u03C3");
+        // Capital dotted I: String.toLowerCase produces two chars
+        expectContains("\u0130stanbul", "\u0130stanbul", "istanbul");
+        expectContains("Caf\u00C9", "caf\u00E9", "CAF\u00C9");
+        System.out.println("SpellingDictionary checks passed.");
+    }
+
+    private static void expectContains(String word, String... lookups) {
+        SpellingDictionary dictionary = SpellingDictionary.of(word);
+        for (String lookup : lookups) {
+            if (!dictionary.contains(lookup)) {
+                throw new IllegalStateException("Dictionary of " + word + " does not contain " + lookup);
+            }
+        }
+    }
+}
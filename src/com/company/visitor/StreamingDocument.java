@@ -0,0 +1,111 @@
+package com.company.visitor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// A document file that is visited while it is being parsed, without building a Document.
+// A parser thread pulls elements from a DocumentReader into a queue of at most
+// maxBufferedElements; visitors run on the calling thread and take elements from the queue,
+// so parsing and visiting overlap and memory stays bounded by the queue and the largest element.
+// With maxBufferedElements == 0 the file is parsed on the calling thread instead.
+public class StreamingDocument {
+    private static final Object END = new Object();
+
+    private final Path file;
+    private final int maxBufferedElements;
+
+    public StreamingDocument(Path file) {
+        this(file, 1_024);
+    }
+
+    public StreamingDocument(Path file, int maxBufferedElements) {
+        if (maxBufferedElements < 0) {
+            throw new IllegalArgumentException("maxBufferedElements must not be negative");
+        }
+        this.file = file;
+        this.maxBufferedElements = maxBufferedElements;
+    }
+
+    // Dispatches every element to all visitors in one pass (see FusedVisitor); returns the element count
+    public long applyVisitors(DocumentVisitor... visitors) throws IOException {
+        DocumentVisitor visitor = visitors.length == 1 ? visitors[0] : new FusedVisitor(visitors);
+        if (maxBufferedElements == 0) {
+            return applyInline(visitor);
+        }
+
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(maxBufferedElements);
+        Thread parser = new Thread(() -> parse(queue), "document-parser");
+        parser.setDaemon(true);
+        parser.start();
+        long count = 0;
+        try {
+            while (true) {
+                Object next = queue.take();
+                if (next == END) {
+                    return count;
+                }
+                if (next instanceof Throwable) {
+                    throw rethrow((Throwable) next);
+                }
+                ((DocumentElement) next).accept(visitor);
+                count++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while visiting " + file);
+        } finally {
+            // Stops the parser if visiting ended early; a no-op after END
+            parser.interrupt();
+        }
+    }
+
+    // Throws a parser failure on the visiting thread with its original type
+    private IOException rethrow(Throwable failure) throws IOException {
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new IOException("Failed to parse " + file, failure);
+    }
+
+    private long applyInline(DocumentVisitor visitor) throws IOException {
+        long count = 0;
+        try (DocumentReader reader = new DocumentReader(Files.newInputStream(file))) {
+            DocumentElement element;
+            while ((element = reader.next()) != null) {
+                element.accept(visitor);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Runs on the parser thread; failures are handed to the visiting thread through the queue
+    private void parse(BlockingQueue<Object> queue) {
+        try {
+            Object last = END;
+            try (DocumentReader reader = new DocumentReader(Files.newInputStream(file))) {
+                DocumentElement element;
+                while ((element = reader.next()) != null) {
+                    queue.put(element);
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable e) {
+                last = e; // even an Error must reach the visiting thread, or it would wait forever
+            }
+            queue.put(last);
+        } catch (InterruptedException e) {
+            // The visiting thread gave up; nobody is waiting for more elements
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.company.visitor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// HTML export throughput for large tables: StreamingHtmlExporter vs ExporterVisitor.
+// Arguments: total table cells (default 10000000), columns per table (default 10).
+public class StreamingExportBenchmark {
+    public static void main(String[] args) throws IOException {
+        int cells = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int rowsPerTable = 1_000;
+
+        String[] values = {"Revenue", "Q1 & Q2", "<none>", "12.50", "\u00dcn\u00efcode", "\"quoted\"", "Category A", "42"};
+        Document document = new Document();
+        int rows = cells / columns;
+        for (int firstRow = 0; firstRow < rows; firstRow += rowsPerTable) {
+            String[][] data = new String[Math.min(rowsPerTable, rows - firstRow)][columns];
+            for (int r = 0; r < data.length; r++) {
+                for (int c = 0; c < columns; c++) {
+                    data[r][c] = values[(firstRow + r + c) % values.length];
+                }
+            }
+            document.addElement(new Paragraph("Table starting at row " + firstRow));
+            document.addElement(new Table(data));
+        }
+        System.out.println(rows * columns + " cells in " + document.size() / 2 + " tables");
+
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+
+            CountingChannel discard = new CountingChannel();
+            long start = System.nanoTime();
+            StreamingHtmlExporter exporter = new StreamingHtmlExporter(discard);
+            document.applyVisitor(exporter);
+            exporter.flush();
+            long nanos = System.nanoTime() - start;
+            if (report) {
+                System.out.println("Streaming to memory: " + discard.bytes / 1_000_000 + " MB, "
+                        + megabytesPerSecond(discard.bytes, nanos) + " MB/s");
+            }
+
+            Path file = Files.createTempFile("export", ".html");
+            try {
+                start = System.nanoTime();
+                try (StreamingHtmlExporter fileExporter = new StreamingHtmlExporter(
+                        FileChannel.open(file, StandardOpenOption.WRITE))) {
+                    document.applyVisitor(fileExporter);
+                }
+                nanos = System.nanoTime() - start;
+                if (report) {
+                    System.out.println("Streaming to file: " + megabytesPerSecond(Files.size(file), nanos) + " MB/s");
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        // ExporterVisitor prints through System.out; point it at a counting sink so only its own cost is measured
+        PrintStream console = System.out;
+        CountingStream sink = new CountingStream();
+        long start = System.nanoTime();
+        System.setOut(new PrintStream(sink, false, "UTF-8"));
+        try {
+            document.applyVisitor(new ExporterVisitor());
+            System.out.flush();
+        } finally {
+            System.setOut(console);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.println("ExporterVisitor (println): " + megabytesPerSecond(sink.bytes, nanos) + " MB/s");
+    }
+
+    private static long megabytesPerSecond(long bytes, long nanos) {
+        return bytes * 1_000L / Math.max(1, nanos);
+    }
+
+    private static class CountingChannel implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int written = source.remaining();
+            source.position(source.limit());
+            bytes += written;
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class CountingStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
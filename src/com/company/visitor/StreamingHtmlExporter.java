@@ -0,0 +1,237 @@
+package com.company.visitor;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Exports elements as HTML straight into a reusable byte buffer that is flushed to a channel when full.
+// Text is escaped and UTF-8 encoded char by char into the buffer, so no Strings are built per tag or cell.
+// I/O failures are rethrown as UncheckedIOException because visit methods cannot throw IOException.
+// Call flush (or close) after the last element; the channel is only closed by close.
+public class StreamingHtmlExporter implements DocumentVisitor, Flushable, Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    // Longest encoding of one char: "&quot;", or 4 bytes for a surrogate pair
+    private static final int MAX_BYTES_PER_CHAR = 6;
+
+    private static final byte[] P_OPEN = ascii("<p>");
+    private static final byte[] P_CLOSE = ascii("</p>\n");
+    private static final byte[] IMG_OPEN = ascii("<img src=\"");
+    private static final byte[] IMG_CLOSE = ascii("\"/>\n");
+    private static final byte[] TABLE_OPEN = ascii("<table>\n");
+    private static final byte[] TABLE_CLOSE = ascii("</table>\n");
+    private static final byte[] TR_OPEN = ascii("<tr>\n");
+    private static final byte[] TR_CLOSE = ascii("</tr>\n");
+    private static final byte[] TD_OPEN = ascii("<td>");
+    private static final byte[] TD_CLOSE = ascii("</td>\n");
+    private static final byte[] AMP = ascii("&amp;");
+    private static final byte[] LT = ascii("&lt;");
+    private static final byte[] GT = ascii("&gt;");
+    private static final byte[] QUOT = ascii("&quot;");
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer view;
+    private int position;
+    private long bytesWritten;
+
+    public StreamingHtmlExporter(OutputStream out) {
+        this(Channels.newChannel(out), DEFAULT_BUFFER_SIZE);
+    }
+
+    public StreamingHtmlExporter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public StreamingHtmlExporter(WritableByteChannel channel, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("bufferSize must be at least 64 bytes");
+        }
+        this.channel = channel;
+        this.buffer = new byte[bufferSize];
+        this.view = ByteBuffer.wrap(buffer);
+    }
+
+    // Bytes handed to the channel so far plus bytes still buffered
+    public long getBytesWritten() {
+        return bytesWritten + position;
+    }
+
+    @Override
+    public void visit(Paragraph paragraph) {
+        writeRaw(P_OPEN);
+        writeEscaped(paragraph.getText());
+        writeRaw(P_CLOSE);
+    }
+
+    @Override
+    public void visit(Image image) {
+        writeRaw(IMG_OPEN);
+        writeEscaped(image.getImagePath());
+        writeRaw(IMG_CLOSE);
+    }
+
+    @Override
+    public void visit(Table table) {
+        if (table.isColumnar()) {
+            writeColumnar(table);
+            return;
+        }
+        writeRaw(TABLE_OPEN);
+        for (String[] row : table.getData()) {
+            writeRaw(TR_OPEN);
+            for (String cell : row) {
+                writeRaw(TD_OPEN);
+                writeEscaped(cell);
+                writeRaw(TD_CLOSE);
+            }
+            writeRaw(TR_CLOSE);
+        }
+        writeRaw(TABLE_CLOSE);
+    }
+
+    // Each distinct value of a column is escaped and encoded once, as a complete <td> element,
+    // the first time it is seen; every further cell with that value is a single array copy
+    private void writeColumnar(Table table) {
+        int columnCount = table.getColumnCount();
+        DictionaryColumn[] columns = new DictionaryColumn[columnCount];
+        byte[][][] encodedCells = new byte[columnCount][][];
+        for (int column = 0; column < columnCount; column++) {
+            columns[column] = table.getColumn(column);
+            encodedCells[column] = new byte[columns[column].getCardinality()][];
+        }
+        writeRaw(TABLE_OPEN);
+        for (int row = 0, rows = table.getRowCount(); row < rows; row++) {
+            writeRaw(TR_OPEN);
+            for (int column = 0; column < columnCount; column++) {
+                int code = columns[column].getCode(row);
+                byte[] cell = encodedCells[column][code];
+                if (cell == null) {
+                    cell = encodeCell(columns[column].getValue(code));
+                    encodedCells[column][code] = cell;
+                }
+                if (cell.length > buffer.length) {
+                    writeRaw(TD_OPEN);
+                    writeEscaped(columns[column].getValue(code));
+                    writeRaw(TD_CLOSE);
+                } else {
+                    writeRaw(cell);
+                }
+            }
+            writeRaw(TR_CLOSE);
+        }
+        writeRaw(TABLE_CLOSE);
+    }
+
+    private static byte[] encodeCell(String value) {
+        String escaped = String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;")
+                .replace(">", "&gt;").replace("\"", "&quot;");
+        return ("<td>" + escaped + "</td>\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void flush() {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeRaw(byte[] bytes) {
+        if (buffer.length - position < bytes.length) {
+            drain();
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeEscaped(String text) {
+        if (text == null) {
+            text = "null";
+        }
+        byte[] buffer = this.buffer;
+        int position = this.position;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.length - position < MAX_BYTES_PER_CHAR) {
+                this.position = position;
+                drain();
+                position = 0;
+            }
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    position = put(AMP, buffer, position);
+                    break;
+                case '<':
+                    position = put(LT, buffer, position);
+                    break;
+                case '>':
+                    position = put(GT, buffer, position);
+                    break;
+                case '"':
+                    position = put(QUOT, buffer, position);
+                    break;
+                default:
+                    if (c < 0x80) {
+                        buffer[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        buffer[position++] = (byte) (0xC0 | (c >> 6));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length
+                            && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                        buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        // Unpaired surrogate, written as '?' like String.getBytes(UTF_8)
+                        buffer[position++] = '?';
+                    } else {
+                        buffer[position++] = (byte) (0xE0 | (c >> 12));
+                        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                    }
+            }
+        }
+        this.position = position;
+    }
+
+    private static int put(byte[] bytes, byte[] buffer, int position) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private void drain() {
+        view.clear().limit(position);
+        try {
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bytesWritten += position;
+        position = 0;
+    }
+
+    private static byte[] ascii(String text) {
+        byte[] bytes = new byte[text.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) text.charAt(i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,133 @@
+package com.company.visitor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+// Streams a generated document file through visitors without loading it, reporting throughput and heap use.
+// Arguments: input size such as 10g or 500m (default 10g), and optionally a file to reuse or create
+// (default: a temporary file that is deleted afterwards). Run with a small heap, e.g. -Xmx64m,
+// to see that memory does not depend on the document size.
+public class StreamingIngestionBenchmark {
+    public static void main(String[] args) throws IOException {
+        long targetBytes = parseSize(args.length > 0 ? args[0] : "10g");
+        boolean temporary = args.length < 2;
+        Path file = temporary ? Files.createTempFile("document", ".doc") : Paths.get(args[1]);
+        try {
+            if (temporary || !Files.exists(file)) {
+                long start = System.nanoTime();
+                long elements = generate(file, targetBytes);
+                long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                System.out.println("Generated " + elements + " elements, " + Files.size(file) / 1_000_000 + " MB in "
+                        + millis + " ms");
+            }
+            long size = Files.size(file);
+
+            for (int bufferedElements : new int[]{0, 1_024}) {
+                for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                    pool.resetPeakUsage();
+                }
+                StatisticsVisitor statistics = new StatisticsVisitor();
+                SpellCheckerVisitor spellChecker = new SpellCheckerVisitor(
+                        SpellingDictionary.of("lorem", "ipsum", "dolor", "sit", "amet", "visitor", "stream", "tabbed", "word"));
+                long start = System.nanoTime();
+                long elements = new StreamingDocument(file, bufferedElements).applyVisitors(statistics, spellChecker);
+                long nanos = System.nanoTime() - start;
+                System.out.println((bufferedElements == 0 ? "Inline parsing" : "Parser thread, " + bufferedElements
+                        + " buffered elements") + ": " + elements + " elements, " + statistics.words + " words, "
+                        + size * 1_000L / nanos + " MB/s, peak heap " + peakHeapBytes() / 1_000_000 + " MB");
+            }
+        } finally {
+            if (temporary) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static long generate(Path file, long targetBytes) throws IOException {
+        String[] words = {"lorem", "ipsum", "dolor", "sit", "amet", "visitor", "stream", "tabbed\tword", "sp3ll"};
+        Random random = new Random(3);
+        long elements = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+             DocumentWriter writer = new DocumentWriter(out)) {
+            StringBuilder text = new StringBuilder();
+            long written = 0;
+            while (written < targetBytes) {
+                int kind = random.nextInt(10);
+                if (kind < 7) {
+                    text.setLength(0);
+                    for (int w = 0, count = 20 + random.nextInt(60); w < count; w++) {
+                        text.append(words[random.nextInt(words.length)]).append(' ');
+                    }
+                    writer.visit(new Paragraph(text.toString()));
+                    written += text.length() + 3;
+                } else if (kind < 9) {
+                    String path = "images/figure" + elements + ".png";
+                    writer.visit(new Image(path));
+                    written += path.length() + 3;
+                } else {
+                    String[][] data = new String[20][5];
+                    for (String[] row : data) {
+                        for (int c = 0; c < row.length; c++) {
+                            row[c] = words[random.nextInt(words.length)];
+                            written += row[c].length() + 1;
+                        }
+                    }
+                    writer.visit(new Table(data));
+                    written += 10;
+                }
+                elements++;
+            }
+        }
+        return elements;
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long parseSize(String size) {
+        char unit = Character.toLowerCase(size.charAt(size.length() - 1));
+        long multiplier = unit == 'g' ? 1L << 30 : unit == 'm' ? 1L << 20 : unit == 'k' ? 1L << 10 : 1;
+        String digits = multiplier == 1 ? size : size.substring(0, size.length() - 1);
+        return Long.parseLong(digits) * multiplier;
+    }
+
+    private static class StatisticsVisitor implements DocumentVisitor {
+        long words;
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            String text = paragraph.getText();
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == ' ') {
+                    words++;
+                }
+            }
+        }
+
+        @Override
+        public void visit(Image image) {
+        }
+
+        @Override
+        public void visit(Table table) {
+            for (String[] row : table.getData()) {
+                words += row.length;
+            }
+        }
+    }
+}
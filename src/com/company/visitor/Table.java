@@ -1,19 +1,134 @@
 package com.company.visitor;
 
+// A table stored either row by row as a String[][] or column by column as DictionaryColumns.
+// Visitors should read cells through getRowCount/getRowLength/getCell, which work for both
+// layouts without copying; getData() has to build a new array for a columnar table.
+// The version also covers edits made directly to the DictionaryColumns of a columnar table.
 public class Table implements DocumentElement {
     private String[][] data;
+    private DictionaryColumn[] columns;
+    private long version;
 
     public Table(String[][] data) {
         this.data = data;
     }
 
+    // All columns must have the same number of rows
+    public Table(DictionaryColumn... columns) {
+        for (DictionaryColumn column : columns) {
+            if (column.size() != columns[0].size()) {
+                throw new IllegalArgumentException("All columns must have the same number of rows");
+            }
+        }
+        this.columns = columns.clone();
+    }
+
+    // Dictionary-encodes a rectangular String[][] into a columnar table
+    public static Table columnar(String[][] data) {
+        int columnCount = data.length == 0 ? 0 : data[0].length;
+        DictionaryColumn[] columns = new DictionaryColumn[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            columns[column] = new DictionaryColumn(data.length);
+        }
+        for (String[] row : data) {
+            if (row.length != columnCount) {
+                throw new IllegalArgumentException("Columnar tables must be rectangular");
+            }
+            for (int column = 0; column < columnCount; column++) {
+                columns[column].add(row[column]);
+            }
+        }
+        return new Table(columns);
+    }
+
+    public boolean isColumnar() {
+        return columns != null;
+    }
+
+    public int getRowCount() {
+        if (columns != null) {
+            return columns.length == 0 ? 0 : columns[0].size();
+        }
+        return data.length;
+    }
+
+    // Number of columns; for a row-based table, the length of the first row
+    public int getColumnCount() {
+        if (columns != null) {
+            return columns.length;
+        }
+        return data.length == 0 ? 0 : data[0].length;
+    }
+
+    // Number of cells in a row (row-based tables may be ragged)
+    public int getRowLength(int row) {
+        return columns != null ? columns.length : data[row].length;
+    }
+
+    public String getCell(int row, int column) {
+        return columns != null ? columns[column].get(row) : data[row][column];
+    }
+
+    // Only for columnar tables
+    public DictionaryColumn getColumn(int column) {
+        if (columns == null) {
+            throw new IllegalStateException("Table is stored by rows");
+        }
+        return columns[column];
+    }
+
+    // For a columnar table this is a new copy; changing it does not change the table
     public String[][] getData() {
-        return data;
+        if (columns == null) {
+            return data;
+        }
+        String[][] copy = new String[getRowCount()][columns.length];
+        for (int row = 0; row < copy.length; row++) {
+            for (int column = 0; column < columns.length; column++) {
+                copy[row][column] = columns[column].get(row);
+            }
+        }
+        return copy;
+    }
+
+    public void setData(String[][] data) {
+        version = getVersion() + 1; // keep counting from the column versions being dropped
+        this.data = data;
+        this.columns = null;
+    }
+
+    public void setCell(int row, int column, String value) {
+        if (columns != null) {
+            columns[column].set(row, value);
+        } else {
+            data[row][column] = value;
+        }
+        version++;
+    }
+
+    // For callers that changed the array returned by getData() of a row-based table in place
+    public void markModified() {
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        long total = version;
+        if (columns != null) {
+            for (DictionaryColumn column : columns) {
+                total += column.getVersion(); // column versions only grow, so any edit changes the sum
+            }
+        }
+        return total;
     }
 
     @Override
     public void accept(DocumentVisitor visitor) {
         visitor.visit(this);
     }
-}
 
+    @Override
+    public <R> R accept(ResultVisitor<R> visitor, R partial) {
+        return visitor.visit(this, partial);
+    }
+}
@@ -0,0 +1,57 @@
+package com.company.visitor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Counts how often each word (lower-cased run of letters or digits) occurs in paragraphs and table cells.
+public class WordCountVisitor implements ResultVisitor<Map<String, Integer>> {
+    @Override
+    public Map<String, Integer> identity() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public Map<String, Integer> visit(Paragraph paragraph, Map<String, Integer> partial) {
+        countWords(paragraph.getText(), partial);
+        return partial;
+    }
+
+    @Override
+    public Map<String, Integer> visit(Image image, Map<String, Integer> partial) {
+        return partial;
+    }
+
+    @Override
+    public Map<String, Integer> visit(Table table, Map<String, Integer> partial) {
+        for (int row = 0; row < table.getRowCount(); row++) {
+            for (int column = 0; column < table.getRowLength(row); column++) {
+                countWords(table.getCell(row, column), partial);
+            }
+        }
+        return partial;
+    }
+
+    @Override
+    public Map<String, Integer> combine(Map<String, Integer> left, Map<String, Integer> right) {
+        for (Map.Entry<String, Integer> entry : right.entrySet()) {
+            left.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        return left;
+    }
+
+    private static void countWords(String text, Map<String, Integer> counts) {
+        if (text == null) { // empty cell
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                counts.merge(text.substring(start, i).toLowerCase(), 1, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+}
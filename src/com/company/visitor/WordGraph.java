@@ -0,0 +1,222 @@
+package com.company.visitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Minimal acyclic word automaton (DAWG): words sharing a suffix share the states for it,
+// so a large word list needs far fewer states than a trie. Built from sorted words with
+// the incremental algorithm of Daciuk et al., then frozen into one flat long[]:
+// a state at index s is a header (arc count << 1 | final bit) followed by its arcs
+// (label << 32 | index of the target state), sorted by label. Keeping a state's header and
+// arcs together means a lookup touches about one cache line per character.
+class WordGraph {
+    private final long[] states;
+    private final int stateCount;
+
+    private WordGraph(long[] states, int stateCount) {
+        this.states = states;
+        this.stateCount = stateCount;
+    }
+
+    // Words must be sorted in String order and free of duplicates
+    static WordGraph build(List<String> sortedWords) {
+        Builder builder = new Builder();
+        String previous = null;
+        for (String word : sortedWords) {
+            if (previous != null && previous.compareTo(word) >= 0) {
+                throw new IllegalArgumentException("Words must be sorted and unique: " + previous + ", " + word);
+            }
+            builder.add(word);
+            previous = word;
+        }
+        return builder.freeze();
+    }
+
+    // Looks up text[from, to), lower-casing each char on the fly
+    boolean contains(CharSequence text, int from, int to) {
+        long[] states = this.states;
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            long label = SpellingDictionary.foldCase(text.charAt(i));
+            int low = state + 1;
+            int high = state + (int) (states[state] >>> 1);
+            int next = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long arcLabel = states[middle] >>> 32;
+                if (arcLabel < label) {
+                    low = middle + 1;
+                } else if (arcLabel > label) {
+                    high = middle - 1;
+                } else {
+                    next = (int) states[middle];
+                    break;
+                }
+            }
+            if (next < 0) {
+                return false;
+            }
+            state = next;
+        }
+        return (states[state] & 1) != 0;
+    }
+
+    int stateCount() {
+        return stateCount;
+    }
+
+    int arcCount() {
+        return states.length - stateCount;
+    }
+
+    long memoryBytes() {
+        return 8L * states.length;
+    }
+
+    private static class Node {
+        char[] labels = new char[0];
+        Node[] targets = new Node[0];
+        int arcs;
+        boolean terminal;
+        int hash;
+
+        Node lastChild() {
+            return arcs == 0 ? null : targets[arcs - 1];
+        }
+
+        Node addArc(char label) {
+            if (arcs == labels.length) {
+                int capacity = Math.max(2, arcs * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            Node child = new Node();
+            labels[arcs] = label;
+            targets[arcs++] = child;
+            return child;
+        }
+
+        // Called once the node can no longer change; targets are already canonical
+        void seal() {
+            int h = terminal ? 1 : 0;
+            for (int i = 0; i < arcs; i++) {
+                h = h * 31 + labels[i];
+                h = h * 31 + System.identityHashCode(targets[i]);
+            }
+            hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Node)) {
+                return false;
+            }
+            Node node = (Node) other;
+            if (terminal != node.terminal || arcs != node.arcs) {
+                return false;
+            }
+            for (int i = 0; i < arcs; i++) {
+                if (labels[i] != node.labels[i] || targets[i] != node.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class Builder {
+        private final Node root = new Node();
+        private final Map<Node, Node> register = new HashMap<>();
+
+        void add(String word) {
+            Node state = root;
+            int prefix = 0;
+            while (prefix < word.length() && state.arcs > 0
+                    && state.labels[state.arcs - 1] == word.charAt(prefix)) {
+                state = state.lastChild();
+                prefix++;
+            }
+            if (state.arcs > 0) {
+                replaceOrRegister(state);
+            }
+            for (int i = prefix; i < word.length(); i++) {
+                state = state.addArc(word.charAt(i));
+            }
+            state.terminal = true;
+        }
+
+        // Replaces the most recently added path below `state` by equivalent registered states
+        private void replaceOrRegister(Node state) {
+            // Walk down the last-added path first, then canonicalize bottom-up
+            List<Node> path = new ArrayList<>();
+            Node node = state;
+            while (node.arcs > 0) {
+                path.add(node);
+                node = node.lastChild();
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node parent = path.get(i);
+                Node child = parent.lastChild();
+                child.seal();
+                Node existing = register.get(child);
+                if (existing != null) {
+                    parent.targets[parent.arcs - 1] = existing;
+                } else {
+                    register.put(child, child);
+                }
+            }
+        }
+
+        WordGraph freeze() {
+            if (root.arcs > 0) {
+                replaceOrRegister(root);
+            }
+            // Number states breadth-first so the root is state 0
+            Map<Node, Integer> ids = new IdentityHashMap<>();
+            List<Node> order = new ArrayList<>();
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            ids.put(root, 0);
+            order.add(root);
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (int i = 0; i < node.arcs; i++) {
+                    Node target = node.targets[i];
+                    if (!ids.containsKey(target)) {
+                        ids.put(target, order.size());
+                        order.add(target);
+                        queue.add(target);
+                    }
+                }
+            }
+
+            // Lay the states out in numbering order: header first, then arcs
+            int[] index = new int[order.size()];
+            int next = 0;
+            for (int id = 0; id < order.size(); id++) {
+                index[id] = next;
+                next += 1 + order.get(id).arcs;
+            }
+            long[] states = new long[next];
+            for (int id = 0; id < order.size(); id++) {
+                Node node = order.get(id);
+                int at = index[id];
+                states[at] = (long) node.arcs << 1 | (node.terminal ? 1 : 0);
+                for (int i = 0; i < node.arcs; i++) {
+                    states[at + 1 + i] = (long) node.labels[i] << 32 | index[ids.get(node.targets[i])];
+                }
+            }
+            return new WordGraph(states, order.size());
+        }
+    }
+}